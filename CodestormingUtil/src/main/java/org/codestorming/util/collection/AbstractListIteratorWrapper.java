@@ -25,6 +25,13 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 
 	protected T last;
 
+	/**
+	 * Index of the last element returned by {@link #next()} or {@link #previous()}.
+	 *
+	 * @since 1.7
+	 */
+	protected int lastIndex = -1;
+
 	public AbstractListIteratorWrapper(ListIterator<T> iterator) {
 		iter = iterator;
 	}
@@ -36,6 +43,7 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 
 	@Override
 	public T next() {
+		lastIndex = iter.nextIndex();
 		last = iter.next();
 		return last;
 	}
@@ -47,6 +55,7 @@ public abstract class AbstractListIteratorWrapper<T> implements ListIterator<T>
 
 	@Override
 	public T previous() {
+		lastIndex = iter.previousIndex();
 		last = iter.previous();
 		return last;
 	}
@@ -11,18 +11,23 @@
  */
 package org.codestorming.util.collection;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import org.codestorming.util.observable.ChangeDispatcher;
+import org.codestorming.util.observable.ChangeDispatcher.OverflowPolicy;
+import org.codestorming.util.observable.ListenerRegistry;
+import org.codestorming.util.observable.ListenerRegistry.Notification;
+
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Basic implementation of {@link ObservableCollection}.
  * <p/>
- * Adding and removing listeners and firing changes are thread-safe operations.
+ * Adding and removing listeners and firing changes are thread-safe operations. The listeners
+ * are kept in a {@link ListenerRegistry}, notified without locking nor copying.
  * <p/>
- * Implementors must use the following lock methods when using the {@code changeListeners} collection:
+ * Implementors can guard their own state with the following lock methods:
  * <pre>
  *     readLock    - Lock in read mode
  *     readUnlock  - Unlock read mode
@@ -30,38 +35,48 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *     writeUnlock - Unlock write mode
  * </pre>
  * <em>Unlocking should happen in finally blocks to prevent deadlocks when an exception occurs.</em>
+ * <p/>
+ * During a {@link #beginBatch() batch}, the fired changes are accumulated and notified at
+ * once at its end.
+ * <p/>
+ * The listeners are notified by the thread changing the collection, unless a
+ * {@link #setDispatchExecutor(Executor, int, OverflowPolicy) dispatch executor} is set.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  * @since 1.2
  */
 public abstract class AbstractObservableCollection<E> implements ObservableCollection<E> {
 
-	protected final Set<CollectionChangeListener<E>> changeListeners;
+	protected final ListenerRegistry<CollectionChangeListener<E>> changeListeners;
 
 	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+	/**
+	 * Number of nested batches in progress, guarded by the write lock.
+	 */
+	private int batchDepth;
+
+	/**
+	 * Changes of the batch in progress, modified under the write lock.
+	 */
+	private volatile ChangeBatch<E> batch;
+
+	private final ChangeNotification<E> change = new ChangeNotification<E>();
+
+	private volatile ChangeDispatcher<Iterable<CollectionChange<E>>> dispatcher;
+
 	public AbstractObservableCollection() {
-		changeListeners = new HashSet<CollectionChangeListener<E>>();
+		changeListeners = new ListenerRegistry<CollectionChangeListener<E>>();
 	}
 
 	@Override
 	public void addChangeListener(CollectionChangeListener<E> listener) {
-		writeLock();
-		try {
-			changeListeners.add(listener);
-		} finally {
-			writeUnlock();
-		}
+		changeListeners.add(listener);
 	}
 
 	@Override
 	public void removeChangeListener(CollectionChangeListener<E> listener) {
-		writeLock();
-		try {
-			changeListeners.remove(listener);
-		} finally {
-			writeUnlock();
-		}
+		changeListeners.remove(listener);
 	}
 
 	protected void readLock() {
@@ -80,16 +95,137 @@ public abstract class AbstractObservableCollection<E> implements ObservableColle
 		lock.writeLock().unlock();
 	}
 
-	protected void fireChange(Iterable<CollectionChange<E>> changes) {
-		ArrayList<CollectionChangeListener<E>> listeners;
+	/**
+	 * Sets the executor notifying the listeners of this collection, instead of the thread
+	 * changing it.
+	 * <p>
+	 * The changes are notified in the order they happened. The changes pending while the
+	 * listeners are notified are merged into a single notification, an addition and a
+	 * removal of equal values cancelling each other like in a {@link #beginBatch() batch}.
+	 * <p>
+	 * Changing the executor keeps this order: the pending notifications are delivered before
+	 * the following ones, by the new executor, or by the thread changing the collection if
+	 * the executor is {@code null}.
+	 * <p>
+	 * The {@link OverflowPolicy#DROP_OLDEST DROP_OLDEST} policy is not supported: the indexes
+	 * of the changes following a dropped one would be wrong.
+	 *
+	 * @param executor The executor notifying the listeners, {@code null} to notify them
+	 *        synchronously.
+	 * @param capacity The maximum number of pending notifications.
+	 * @param policy What to do with a change when {@code capacity} notifications are
+	 *        pending.
+	 * @throws IllegalArgumentException if {@code capacity < 1} or {@code policy} is
+	 *         {@code DROP_OLDEST}.
+	 * @since 1.7
+	 */
+	public void setDispatchExecutor(Executor executor, int capacity, OverflowPolicy policy) {
+		if (policy == OverflowPolicy.DROP_OLDEST) {
+			throw new IllegalArgumentException("The changes of a collection cannot be dropped.");
+		}// else
+		writeLock();
 		try {
-			readLock();
-			listeners = new ArrayList<CollectionChangeListener<E>>(changeListeners);
+			if (dispatcher != null) {
+				// Keeping the pending changes in the same queue
+				dispatcher.configure(executor, capacity, policy);
+			} else if (executor != null) {
+				dispatcher = new ChangeDispatcher<Iterable<CollectionChange<E>>>(executor, capacity, policy,
+						this::mergeChanges, this::deliverChanges);
+			}
 		} finally {
-			readUnlock();
+			writeUnlock();
 		}
-		for (CollectionChangeListener<E> listener : listeners) {
-			listener.onChange(this, changes);
+	}
+
+	@Override
+	public void beginBatch() {
+		writeLock();
+		try {
+			if (batchDepth++ == 0) {
+				batch = new ChangeBatch<E>();
+			}
+		} finally {
+			writeUnlock();
+		}
+	}
+
+	@Override
+	public void endBatch() {
+		final ChangeBatch<E> ended;
+		writeLock();
+		try {
+			if (batchDepth == 0) {
+				throw new IllegalStateException("No batch has been started.");
+			} else if (--batchDepth > 0) {
+				return;
+			}// else
+			ended = batch;
+			batch = null;
+		} finally {
+			writeUnlock();
+		}
+		final List<CollectionChange<E>> changes = ended.getChanges();
+		if (!changes.isEmpty()) {
+			notifyListeners(changes);
+		}
+	}
+
+	protected void fireChange(Iterable<CollectionChange<E>> changes) {
+		if (batch != null) {
+			writeLock();
+			try {
+				// Checking again as the batch may have ended meanwhile
+				if (batch != null) {
+					batch.add(changes);
+					return;
+				}// else
+			} finally {
+				writeUnlock();
+			}
+		}
+		notifyListeners(changes);
+	}
+
+	private void notifyListeners(Iterable<CollectionChange<E>> changes) {
+		final ChangeDispatcher<Iterable<CollectionChange<E>>> currentDispatcher = dispatcher;
+		if (currentDispatcher != null) {
+			currentDispatcher.submit(changes);
+		} else {
+			changeListeners.fire(change, this, changes);
+		}
+	}
+
+	private Iterable<CollectionChange<E>> mergeChanges(Iterable<CollectionChange<E>> older,
+			Iterable<CollectionChange<E>> newer) {
+		final ChangeBatch<E> merged;
+		if (older instanceof ChangeBatch) {
+			merged = (ChangeBatch<E>) older;
+		} else {
+			merged = new ChangeBatch<E>();
+			merged.add(older);
+		}
+		merged.add(newer);
+		return merged;
+	}
+
+	private void deliverChanges(Iterable<CollectionChange<E>> changes) {
+		if (changes instanceof ChangeBatch) {
+			final List<CollectionChange<E>> merged = ((ChangeBatch<E>) changes).getChanges();
+			if (!merged.isEmpty()) {
+				changeListeners.fire(change, this, merged);
+			}
+		} else {
+			changeListeners.fire(change, this, changes);
+		}
+	}
+
+	private static final class ChangeNotification<E> implements
+			Notification<CollectionChangeListener<E>, ObservableCollection<E>, Iterable<CollectionChange<E>>> {
+
+		@Override
+		public void send(CollectionChangeListener<E> listener, ObservableCollection<E> source,
+				Iterable<CollectionChange<E>> changes) {
+			listener.onChange(source, changes);
 		}
 	}
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Skeletal implementation of the {@link OrderedSet} interface.
+ * <p>
+ * Implementations only have to provide {@link #size()}, {@link #get(int)} and
+ * {@link #indexOf(Object)}. Modifiable implementations must also override
+ * {@link #add(int, Object)} and {@link #remove(int)}, and {@link #set(int, Object)} if
+ * supported.
+ * <p>
+ * {@link #equals(Object)} and {@link #hashCode()} are consistent with the ones of
+ * {@link OrderedHashSet}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public abstract class AbstractOrderedSet<E> implements OrderedSet<E> {
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		for (Object o : c) {
+			if (!contains(o)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		// This is a Set, there is at most one occurence of an object.
+		return indexOf(o);
+	}
+
+	@Override
+	public boolean add(E e) {
+		if (contains(e)) {
+			return false;
+		}// else
+		add(size(), e);
+		return true;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(size(), c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		boolean modified = false;
+		int insertionIndex = index;
+		for (E e : c) {
+			if (!contains(e)) {
+				add(insertionIndex++, e);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public E set(int index, E element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public E remove(int index) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		final int index = indexOf(o);
+		if (index >= 0) {
+			remove(index);
+			return true;
+		}// else
+		return false;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		boolean modified = false;
+		for (Iterator<E> i = iterator(); i.hasNext();) {
+			if (c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		for (Iterator<E> i = iterator(); i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = size() - 1; i >= 0; i--) {
+			remove(i);
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		return new OrderedSetListIterator(index);
+	}
+
+	@Override
+	public List<E> subList(int fromIndex, int toIndex) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object[] toArray() {
+		final Object[] array = new Object[size()];
+		int i = 0;
+		for (E e : this) {
+			array[i++] = e;
+		}
+		return array;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		final int size = size();
+		final T[] array = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		int i = 0;
+		for (E e : this) {
+			array[i++] = (T) e;
+		}
+		if (array.length > size) {
+			array[size] = null;
+		}
+		return array;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}// else
+		if (!(obj instanceof OrderedSet)) {
+			return false;
+		}// else
+		OrderedSet<?> other = (OrderedSet<?>) obj;
+		if (size() != other.size()) {
+			return false;
+		}// else
+		Iterator<E> iter = iterator();
+		Iterator<?> iter2 = other.iterator();
+		while (iter.hasNext()) {
+			E o = iter.next();
+			Object o2 = iter2.next();
+			if (o == null ? o2 != null : !o.equals(o2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashcode = 0;
+		for (E elt : this) {
+			hashcode = 31 * hashcode + (elt == null ? 0 : elt.hashCode());
+		}
+		return hashcode;
+	}
+
+	@Override
+	public String toString() {
+		final Iterator<E> iter = iterator();
+		if (!iter.hasNext()) {
+			return "[]";
+		}// else
+		final StringBuilder builder = new StringBuilder().append('[');
+		while (true) {
+			final E e = iter.next();
+			builder.append(e == this ? "(this Collection)" : e);
+			if (!iter.hasNext()) {
+				return builder.append(']').toString();
+			}// else
+			builder.append(", ");
+		}
+	}
+
+	/**
+	 * {@link ListIterator} based on the index methods of the set.
+	 * <p>
+	 * The <em>set</em> and <em>add</em> methods are not supported.
+	 */
+	private class OrderedSetListIterator implements ListIterator<E> {
+		private int cursor;
+		private int lastReturned = -1;
+		private int expectedSize;
+
+		OrderedSetListIterator(int index) {
+			cursor = index;
+			expectedSize = size();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return cursor < size();
+		}
+
+		@Override
+		public E next() {
+			checkSize();
+			if (cursor >= expectedSize) {
+				throw new NoSuchElementException();
+			}// else
+			lastReturned = cursor;
+			return get(cursor++);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return cursor > 0;
+		}
+
+		@Override
+		public E previous() {
+			checkSize();
+			if (cursor <= 0) {
+				throw new NoSuchElementException();
+			}// else
+			lastReturned = --cursor;
+			return get(cursor);
+		}
+
+		@Override
+		public int nextIndex() {
+			return cursor;
+		}
+
+		@Override
+		public int previousIndex() {
+			return cursor - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}// else
+			checkSize();
+			AbstractOrderedSet.this.remove(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedSize--;
+		}
+
+		@Override
+		public void set(E e) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(E e) {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkSize() {
+			if (size() != expectedSize) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
@@ -13,17 +13,37 @@ package org.codestorming.util.collection;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Utility class for arrays.
+ * <p>
+ * The insertions and removals return a new array. For repeated edits of the same array,
+ * a {@link GapBuffer} or one of its primitive counterparts avoids the copies.
+ * <p>
+ * The {@code parallel} operations work in place and split large arrays into fork-join
+ * tasks, of the common pool or of a given {@link java.util.concurrent.ForkJoinPool}.
  * 
  * @author Thaedrik [thaedrik@codestorming.org]
  * @see Arrays
+ * @see SortedArrays
  */
 public class Arrays2 {
 
 	private static final String END_INDEX_INVALID = "The end index cannot be lower than the begin index.";
 
+	private static final String SPLICES_LENGTHS_INVALID = "Each splice must have an index, a remove count and values.";
+
+	private static final String SPLICES_ORDER_INVALID = "The splices must be sorted by index and must not overlap.";
+
 	private static void checkIndexes(int... indexes) {
 		for (int index : indexes) {
 			if (index < 0) {
@@ -82,33 +102,32 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] insert(T[] array, int insertIndex, T[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static byte[] remove(byte[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
-		T[] newArray;
+		byte[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = (T[]) Array.newInstance(array.getClass().getComponentType(), newLength);
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new byte[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -116,49 +135,48 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted.
-	 * @param value Value to insert.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] insert(T[] array, int insertIndex, T value) {
-		T[] valueArray = (T[]) Array.newInstance(array.getClass().getComponentType(), 1);
-		valueArray[0] = value;
-		return insert(array, insertIndex, valueArray, 0, 1);
+	public static byte[] remove(byte[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
 	 */
-	public static byte[] insert(byte[] array, int insertIndex, byte[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static short[] remove(short[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
-		byte[] newArray;
+		short[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = new byte[newLength];
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new short[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -166,32 +184,48 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
 	 */
-	public static short[] insert(short[] array, int insertIndex, byte[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static short[] remove(short[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static char[] remove(char[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
-		short[] newArray;
+		char[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = new short[newLength];
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new char[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -199,32 +233,48 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
 	 */
-	public static int[] insert(int[] array, int insertIndex, int[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static char[] remove(char[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static int[] remove(int[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
 		int[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = new int[newLength];
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new int[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -232,32 +282,48 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
 	 */
-	public static long[] insert(long[] array, int insertIndex, long[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static int[] remove(int[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static long[] remove(long[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
 		long[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = new long[newLength];
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new long[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -265,32 +331,48 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
-	 *         values.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
 	 */
-	public static double[] insert(double[] array, int insertIndex, double[] insertedValues, int begin, int end) {
-		checkIndexes(insertIndex, begin, end);
-		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+	public static long[] remove(long[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static float[] remove(float[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
-		double[] newArray;
+		float[] newArray;
 		if (begin != end) {
-			final int newLength = array.length + (end - begin);
-			newArray = new double[newLength];
-			System.arraycopy(array, 0, newArray, 0, insertIndex);
-			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
-			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+			newArray = new float[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
 		} else {
 			newArray = array;
 		}
@@ -298,29 +380,295 @@ public class Arrays2 {
 	}
 
 	/**
-	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
 	 * 
 	 * @param array The source array.
-	 * @param insertIndex Index of the given {@code array} into which the values will be
-	 *        inserted (between 0 and {@code array.length} included).
-	 * @param insertedValues Values to insert.
-	 * @param begin Index of the first element of {@code insertedValues} to insert.
-	 * @param end Index of the last element of {@code insertedValues} to insert +
-	 *        {@code 1}.
-	 * @return a new array with the content of the given {@code array} and the inserted
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
+	 */
+	public static float[] remove(float[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static double[] remove(double[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		double[] newArray;
+		if (begin != end) {
+			newArray = new double[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
+	 * 
+	 * @param array The source array.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
+	 */
+	public static double[] remove(double[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the elements between
+	 * {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * 
+	 * @param array The source array.
+	 * @param begin The index of the first element to remove.
+	 * @param end The index of the last element to remove plus {@code 1}.
+	 * @return a new array built with the given one for which the elements between
+	 *         {@code begin} (included) and {@code end} (excluded) have been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code begin > array.length - 1} or {@code end < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static boolean[] remove(boolean[] array, int begin, int end) {
+		checkIndexes(begin, end);
+		if (begin > array.length - 1 || end > array.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		boolean[] newArray;
+		if (begin != end) {
+			newArray = new boolean[array.length - (end - begin)];
+			System.arraycopy(array, 0, newArray, 0, begin);
+			System.arraycopy(array, end, newArray, begin, array.length - end);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Returns a new array built with the given one for which the element at
+	 * {@code removeIndex} has been removed.
+	 * 
+	 * @param array The source array.
+	 * @param removeIndex The index of the element to remove.
+	 * @return a new array built with the given one for which the element at
+	 *         {@code removeIndex} has been removed.
+	 * @throws ArrayIndexOutOfBoundsException if {@code removeIndex < 0} or
+	 *         {@code removeIndex > array.length - 1}.
+	 * @since 1.7
+	 */
+	public static boolean[] remove(boolean[] array, int removeIndex) {
+		return remove(array, removeIndex, removeIndex + 1);
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
 	 *         values.
 	 */
-	public static float[] insert(float[] array, int insertIndex, float[] insertedValues, int begin, int end) {
+	@SuppressWarnings("unchecked")
+	public static <T> T[] insert(T[] array, int insertIndex, T[] insertedValues, int begin, int end) {
 		checkIndexes(insertIndex, begin, end);
 		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
 			throw new ArrayIndexOutOfBoundsException();
 		} else if (end < begin) {
 			throw new IllegalArgumentException(END_INDEX_INVALID);
 		}// else
-		float[] newArray;
+		T[] newArray;
 		if (begin != end) {
 			final int newLength = array.length + (end - begin);
-			newArray = new float[newLength];
+			newArray = (T[]) Array.newInstance(array.getClass().getComponentType(), newLength);
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted.
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] insert(T[] array, int insertIndex, T value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final T[] newArray = (T[]) Array.newInstance(array.getClass().getComponentType(), array.length + 1);
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	public static byte[] insert(byte[] array, int insertIndex, byte[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		byte[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new byte[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 * @deprecated The inserted values should be {@code short} values, use
+	 *             {@link #insert(short[], int, short[], int, int)}.
+	 */
+	@Deprecated
+	public static short[] insert(short[] array, int insertIndex, byte[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		final short[] widened = new short[end - begin];
+		for (int i = begin; i < end; i++) {
+			widened[i - begin] = insertedValues[i];
+		}
+		return insert(array, insertIndex, widened, 0, widened.length);
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	public static int[] insert(int[] array, int insertIndex, int[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		int[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new int[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	public static long[] insert(long[] array, int insertIndex, long[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		long[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new long[newLength];
 			System.arraycopy(array, 0, newArray, 0, insertIndex);
 			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
 			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
@@ -330,6 +678,1708 @@ public class Arrays2 {
 		return newArray;
 	}
 
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	public static double[] insert(double[] array, int insertIndex, double[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		double[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new double[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 */
+	public static float[] insert(float[] array, int insertIndex, float[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		float[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new float[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 * @since 1.7
+	 */
+	public static short[] insert(short[] array, int insertIndex, short[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		short[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new short[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 * @since 1.7
+	 */
+	public static char[] insert(char[] array, int insertIndex, char[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		char[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new char[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert values into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the values will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param insertedValues Values to insert.
+	 * @param begin Index of the first element of {@code insertedValues} to insert.
+	 * @param end Index of the last element of {@code insertedValues} to insert +
+	 *        {@code 1}.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         values.
+	 * @since 1.7
+	 */
+	public static boolean[] insert(boolean[] array, int insertIndex, boolean[] insertedValues, int begin, int end) {
+		checkIndexes(insertIndex, begin, end);
+		if (insertIndex > array.length || begin > insertedValues.length - 1 || end > insertedValues.length) {
+			throw new ArrayIndexOutOfBoundsException();
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}// else
+		boolean[] newArray;
+		if (begin != end) {
+			final int newLength = array.length + (end - begin);
+			newArray = new boolean[newLength];
+			System.arraycopy(array, 0, newArray, 0, insertIndex);
+			System.arraycopy(insertedValues, begin, newArray, insertIndex, end - begin);
+			System.arraycopy(array, insertIndex, newArray, insertIndex + end - begin, array.length - insertIndex);
+		} else {
+			newArray = array;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static byte[] insert(byte[] array, int insertIndex, byte value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final byte[] newArray = new byte[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static short[] insert(short[] array, int insertIndex, short value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final short[] newArray = new short[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static char[] insert(char[] array, int insertIndex, char value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final char[] newArray = new char[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static int[] insert(int[] array, int insertIndex, int value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final int[] newArray = new int[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static long[] insert(long[] array, int insertIndex, long value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final long[] newArray = new long[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static float[] insert(float[] array, int insertIndex, float value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final float[] newArray = new float[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static double[] insert(double[] array, int insertIndex, double value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final double[] newArray = new double[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Insert a value into the given {@code array} at the specified {@code insertIndex}.
+	 * 
+	 * @param array The source array.
+	 * @param insertIndex Index of the given {@code array} into which the value will be
+	 *        inserted (between 0 and {@code array.length} included).
+	 * @param value Value to insert.
+	 * @return a new array with the content of the given {@code array} and the inserted
+	 *         value.
+	 * @since 1.7
+	 */
+	public static boolean[] insert(boolean[] array, int insertIndex, boolean value) {
+		if (insertIndex < 0 || insertIndex > array.length) {
+			throw new ArrayIndexOutOfBoundsException(insertIndex);
+		}// else
+		final boolean[] newArray = new boolean[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, insertIndex);
+		newArray[insertIndex] = value;
+		System.arraycopy(array, insertIndex, newArray, insertIndex + 1, array.length - insertIndex);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] splice(T[] array, int[] indexes, int[] removeCounts, T[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (T[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final T[] newArray = (T[]) Array.newInstance(array.getClass().getComponentType(), checkLength(newLength));
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final T[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static byte[] splice(byte[] array, int[] indexes, int[] removeCounts, byte[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (byte[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final byte[] newArray = new byte[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final byte[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static short[] splice(short[] array, int[] indexes, int[] removeCounts, short[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (short[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final short[] newArray = new short[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final short[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static int[] splice(int[] array, int[] indexes, int[] removeCounts, int[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (int[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final int[] newArray = new int[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final int[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static long[] splice(long[] array, int[] indexes, int[] removeCounts, long[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (long[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final long[] newArray = new long[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final long[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static double[] splice(double[] array, int[] indexes, int[] removeCounts, double[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (double[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final double[] newArray = new double[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final double[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static float[] splice(float[] array, int[] indexes, int[] removeCounts, float[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (float[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final float[] newArray = new float[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final float[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static char[] splice(char[] array, int[] indexes, int[] removeCounts, char[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (char[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final char[] newArray = new char[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final char[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Applies a batch of splices to the given {@code array}, each splice removing
+	 * {@code removeCounts[i]} elements at {@code indexes[i]} and inserting
+	 * {@code insertedValues[i]} in their place.
+	 * <p>
+	 * The indexes are the ones of the given {@code array}: they must be sorted and the
+	 * removed ranges must not overlap, several insertions at the same index being applied
+	 * in order. The result is built with one allocation and one pass over the array, whatever
+	 * the number of splices.
+	 * 
+	 * @param array The source array.
+	 * @param indexes Index in {@code array} of each splice, in ascending order.
+	 * @param removeCounts Number of elements removed by each splice.
+	 * @param insertedValues Values inserted by each splice, {@code null} for none.
+	 * @return a new array with the content of the given {@code array} once spliced.
+	 * @throws ArrayIndexOutOfBoundsException if a removed range is not in {@code array}.
+	 * @throws IllegalArgumentException if the splices are not sorted or overlap, or if the
+	 *         three arrays describing them do not have the same length.
+	 * @since 1.7
+	 */
+	public static boolean[] splice(boolean[] array, int[] indexes, int[] removeCounts, boolean[][] insertedValues) {
+		long newLength = array.length - checkSplices(array.length, indexes, removeCounts, insertedValues.length);
+		for (boolean[] values : insertedValues) {
+			if (values != null) {
+				newLength += values.length;
+			}
+		}
+		final boolean[] newArray = new boolean[checkLength(newLength)];
+		int read = 0;
+		int write = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			System.arraycopy(array, read, newArray, write, index - read);
+			write += index - read;
+			final boolean[] values = insertedValues[i];
+			if (values != null) {
+				System.arraycopy(values, 0, newArray, write, values.length);
+				write += values.length;
+			}
+			read = index + removeCounts[i];
+		}
+		System.arraycopy(array, read, newArray, write, array.length - read);
+		return newArray;
+	}
+
+	/**
+	 * Returns the index of the first element of the given {@code array} equal to the given
+	 * object, or {@code -1} if there is none.
+	 * 
+	 * @param array The array to search.
+	 * @param o The object to search for, may be {@code null}.
+	 * @return the index of the first element equal to {@code o} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(Object[] array, Object o) {
+		for (int i = 0; i < array.length; i++) {
+			if (o == null ? array[i] == null : o.equals(array[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(byte[] array, byte value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(short[] array, short value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(char[] array, char value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(int[] array, int value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(long[] array, long value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The values are compared like in {@link java.util.Arrays#equals(float[], float[])},
+	 * so {@code NaN} can be found.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(float[] array, float value) {
+		final int bits = Float.floatToIntBits(value);
+		for (int i = 0; i < array.length; i++) {
+			if (Float.floatToIntBits(array[i]) == bits) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The values are compared like in {@link java.util.Arrays#equals(double[], double[])},
+	 * so {@code NaN} can be found.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(double[] array, double value) {
+		final long bits = Double.doubleToLongBits(value);
+		for (int i = 0; i < array.length; i++) {
+			if (Double.doubleToLongBits(array[i]) == bits) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int indexOf(boolean[] array, boolean value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @since 1.7
+	 */
+	public static void parallelFill(int[] array, int value) {
+		parallelFill(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelFill(final int[] array, final int value, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> Arrays.fill(array, begin, end, value));
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @since 1.7
+	 */
+	public static void parallelFill(long[] array, long value) {
+		parallelFill(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelFill(final long[] array, final long value, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> Arrays.fill(array, begin, end, value));
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @since 1.7
+	 */
+	public static void parallelFill(double[] array, double value) {
+		parallelFill(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Assigns the given value to each element of the given array.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The value to assign.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelFill(final double[] array, final double value, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> Arrays.fill(array, begin, end, value));
+	}
+
+	/**
+	 * Assigns the given object to each element of the given array.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The object to assign.
+	 * @since 1.7
+	 */
+	public static void parallelFill(Object[] array, Object value) {
+		parallelFill(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Assigns the given object to each element of the given array.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to fill.
+	 * @param value The object to assign.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelFill(final Object[] array, final Object value, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> Arrays.fill(array, begin, end, value));
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(int[] array, int value) {
+		return parallelIndexOf(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @param pool The pool running the tasks.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(final int[] array, final int value, ForkJoinPool pool) {
+		return RangeTasks.findFirst(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				if (array[i] == value) {
+					return i;
+				}
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(long[] array, long value) {
+		return parallelIndexOf(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @param pool The pool running the tasks.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(final long[] array, final long value, ForkJoinPool pool) {
+		return RangeTasks.findFirst(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				if (array[i] == value) {
+					return i;
+				}
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The values are compared like in {@link Arrays#equals(double[], double[])}, so
+	 * {@code NaN} can be found.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(double[] array, double value) {
+		return parallelIndexOf(array, value, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given {@code value} in the given
+	 * {@code array}, or {@code -1} if it does not contain it.
+	 * <p>
+	 * The values are compared like in {@link Arrays#equals(double[], double[])}, so
+	 * {@code NaN} can be found.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to search.
+	 * @param value The value to search for.
+	 * @param pool The pool running the tasks.
+	 * @return the index of the first occurrence of {@code value} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(final double[] array, final double value, ForkJoinPool pool) {
+		final long bits = Double.doubleToLongBits(value);
+		return RangeTasks.findFirst(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				if (Double.doubleToLongBits(array[i]) == bits) {
+					return i;
+				}
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Returns the index of the first element of the given {@code array} equal to the given
+	 * object, or {@code -1} if there is none.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to search.
+	 * @param o The object to search for, may be {@code null}.
+	 * @return the index of the first element equal to {@code o} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(Object[] array, Object o) {
+		return parallelIndexOf(array, o, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the index of the first element of the given {@code array} equal to the given
+	 * object, or {@code -1} if there is none.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to search.
+	 * @param o The object to search for, may be {@code null}.
+	 * @param pool The pool running the tasks.
+	 * @return the index of the first element equal to {@code o} or {@code -1}.
+	 * @since 1.7
+	 */
+	public static int parallelIndexOf(final Object[] array, final Object o, ForkJoinPool pool) {
+		return RangeTasks.findFirst(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				if (o == null ? array[i] == null : o.equals(array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(int[] array, IntPredicate predicate) {
+		return parallelCount(array, predicate, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(final int[] array, final IntPredicate predicate, ForkJoinPool pool) {
+		return RangeTasks.count(pool, array.length, (begin, end) -> {
+			int count = 0;
+			for (int i = begin; i < end; i++) {
+				if (predicate.test(array[i])) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(long[] array, LongPredicate predicate) {
+		return parallelCount(array, predicate, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(final long[] array, final LongPredicate predicate, ForkJoinPool pool) {
+		return RangeTasks.count(pool, array.length, (begin, end) -> {
+			int count = 0;
+			for (int i = begin; i < end; i++) {
+				if (predicate.test(array[i])) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(double[] array, DoublePredicate predicate) {
+		return parallelCount(array, predicate, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static int parallelCount(final double[] array, final DoublePredicate predicate, ForkJoinPool pool) {
+		return RangeTasks.count(pool, array.length, (begin, end) -> {
+			int count = 0;
+			for (int i = begin; i < end; i++) {
+				if (predicate.test(array[i])) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static <T> int parallelCount(T[] array, Predicate<? super T> predicate) {
+		return parallelCount(array, predicate, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns the number of elements of the given array matching the given predicate.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param predicate The predicate, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @return the number of matching elements.
+	 * @since 1.7
+	 */
+	public static <T> int parallelCount(final T[] array, final Predicate<? super T> predicate, ForkJoinPool pool) {
+		return RangeTasks.count(pool, array.length, (begin, end) -> {
+			int count = 0;
+			for (int i = begin; i < end; i++) {
+				if (predicate.test(array[i])) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(int[] array, IntUnaryOperator operator) {
+		parallelTransform(array, operator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(final int[] array, final IntUnaryOperator operator, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				array[i] = operator.applyAsInt(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(long[] array, LongUnaryOperator operator) {
+		parallelTransform(array, operator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(final long[] array, final LongUnaryOperator operator, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				array[i] = operator.applyAsLong(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(double[] array, DoubleUnaryOperator operator) {
+		parallelTransform(array, operator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelTransform(final double[] array, final DoubleUnaryOperator operator, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				array[i] = operator.applyAsDouble(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @since 1.7
+	 */
+	public static <T> void parallelTransform(T[] array, UnaryOperator<T> operator) {
+		parallelTransform(array, operator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the result of the given operator on it.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array to transform.
+	 * @param operator The operator, called concurrently on large arrays.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static <T> void parallelTransform(final T[] array, final UnaryOperator<T> operator, ForkJoinPool pool) {
+		RangeTasks.forEach(pool, array.length, (begin, end) -> {
+			for (int i = begin; i < end; i++) {
+				array[i] = operator.apply(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The sums overflow silently, like the {@code int} additions.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(int[] array) {
+		parallelPrefixSum(array, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The sums overflow silently, like the {@code int} additions.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(final int[] array, ForkJoinPool pool) {
+		if (!RangeTasks.isParallel(pool, array.length)) {
+			prefixSum(array, 0, array.length);
+			return;
+		}// else
+		// Summing each block on its own, then adding the total of the previous blocks to it
+		final int blockLength = RangeTasks.leafLength(pool, array.length);
+		final int blocks = array.length / blockLength + (array.length % blockLength == 0 ? 0 : 1);
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = begin; block < end; block++) {
+				prefixSum(array, block * blockLength, blockEnd(block, blockLength, array.length));
+			}
+		});
+		final int[] offsets = new int[blocks];
+		for (int block = 1; block < blocks; block++) {
+			offsets[block] = offsets[block - 1] + array[block * blockLength - 1];
+		}
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = Math.max(1, begin); block < end; block++) {
+				final int offset = offsets[block];
+				final int blockEnd = blockEnd(block, blockLength, array.length);
+				for (int i = block * blockLength; i < blockEnd; i++) {
+					array[i] += offset;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The sums overflow silently, like the {@code long} additions.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(long[] array) {
+		parallelPrefixSum(array, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The sums overflow silently, like the {@code long} additions.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(final long[] array, ForkJoinPool pool) {
+		if (!RangeTasks.isParallel(pool, array.length)) {
+			prefixSum(array, 0, array.length);
+			return;
+		}// else
+		// Summing each block on its own, then adding the total of the previous blocks to it
+		final int blockLength = RangeTasks.leafLength(pool, array.length);
+		final int blocks = array.length / blockLength + (array.length % blockLength == 0 ? 0 : 1);
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = begin; block < end; block++) {
+				prefixSum(array, block * blockLength, blockEnd(block, blockLength, array.length));
+			}
+		});
+		final long[] offsets = new long[blocks];
+		for (int block = 1; block < blocks; block++) {
+			offsets[block] = offsets[block - 1] + array[block * blockLength - 1];
+		}
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = Math.max(1, begin); block < end; block++) {
+				final long offset = offsets[block];
+				final int blockEnd = blockEnd(block, blockLength, array.length);
+				for (int i = block * blockLength; i < blockEnd; i++) {
+					array[i] += offset;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The values are summed by blocks, so the rounding errors can differ slightly from the
+	 * ones of a sequential sum.
+	 * <p>
+	 * Large arrays are split into tasks of the {@link ForkJoinPool#commonPool() common pool}.
+	 * 
+	 * @param array The array.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(double[] array) {
+		parallelPrefixSum(array, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Replaces each element of the given array by the sum of the elements from the
+	 * beginning of the array up to it (included).
+	 * <p>
+	 * The values are summed by blocks, so the rounding errors can differ slightly from the
+	 * ones of a sequential sum.
+	 * <p>
+	 * The array is split into tasks of the given pool, unless it is small or the pool has no
+	 * parallelism, in which case the calling thread does all the work.
+	 * 
+	 * @param array The array.
+	 * @param pool The pool running the tasks.
+	 * @since 1.7
+	 */
+	public static void parallelPrefixSum(final double[] array, ForkJoinPool pool) {
+		if (!RangeTasks.isParallel(pool, array.length)) {
+			prefixSum(array, 0, array.length);
+			return;
+		}// else
+		// Summing each block on its own, then adding the total of the previous blocks to it
+		final int blockLength = RangeTasks.leafLength(pool, array.length);
+		final int blocks = array.length / blockLength + (array.length % blockLength == 0 ? 0 : 1);
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = begin; block < end; block++) {
+				prefixSum(array, block * blockLength, blockEnd(block, blockLength, array.length));
+			}
+		});
+		final double[] offsets = new double[blocks];
+		for (int block = 1; block < blocks; block++) {
+			offsets[block] = offsets[block - 1] + array[block * blockLength - 1];
+		}
+		RangeTasks.forEach(pool, blocks, 1, (begin, end) -> {
+			for (int block = Math.max(1, begin); block < end; block++) {
+				final double offset = offsets[block];
+				final int blockEnd = blockEnd(block, blockLength, array.length);
+				for (int i = block * blockLength; i < blockEnd; i++) {
+					array[i] += offset;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Checks the given splices and returns the number of removed elements.
+	 */
+	private static int checkSplices(int length, int[] indexes, int[] removeCounts, int insertions) {
+		if (removeCounts.length != indexes.length || insertions != indexes.length) {
+			throw new IllegalArgumentException(SPLICES_LENGTHS_INVALID);
+		}// else
+		int removed = 0;
+		int previousEnd = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			final int index = indexes[i];
+			final int count = removeCounts[i];
+			if (index < 0 || count < 0 || index > length - count) {
+				throw new ArrayIndexOutOfBoundsException("Index = " + index + ", Remove count = " + count);
+			} else if (index < previousEnd) {
+				throw new IllegalArgumentException(SPLICES_ORDER_INVALID);
+			}// else
+			previousEnd = index + count;
+			removed += count;
+		}
+		return removed;
+	}
+
+	private static int checkLength(long length) {
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The spliced array would be too large: " + length);
+		}// else
+		return (int) length;
+	}
+
+	/**
+	 * Returns the end of the given block of an array, without overflowing for the arrays
+	 * close to the maximum length.
+	 */
+	private static int blockEnd(int block, int blockLength, int length) {
+		final int begin = block * blockLength;
+		return begin + Math.min(blockLength, length - begin);
+	}
+
+	private static void prefixSum(int[] array, int begin, int end) {
+		for (int i = begin + 1; i < end; i++) {
+			array[i] += array[i - 1];
+		}
+	}
+
+	private static void prefixSum(long[] array, int begin, int end) {
+		for (int i = begin + 1; i < end; i++) {
+			array[i] += array[i - 1];
+		}
+	}
+
+	private static void prefixSum(double[] array, int begin, int end) {
+		for (int i = begin + 1; i < end; i++) {
+			array[i] += array[i - 1];
+		}
+	}
+
 	// Suppressing default constructor, ensuring non-instantiability
 	private Arrays2() {}
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive {@code byte} values backed by a <em>gap buffer</em>,
+ * counterpart of {@link GapBuffer}.
+ * <p>
+ * The values are stored in an array with a gap of free slots, which is moved to the index
+ * of each edit. A sequence of insertions or removals around the same index then costs
+ * amortized {@code O(1)} per value, moving the gap costing the distance it travels.
+ * {@link #get(int)} and {@link #set(int, byte)} are done in constant time.
+ * <p>
+ * Unlike {@link Arrays2#insert(byte[], int, byte[], int, int)}, the edits do not allocate a
+ * new array, {@link #toArray()} returning the values once the edits are done.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see Arrays2
+ * @since 1.7
+ */
+public class ByteGapBuffer {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The values, the slots in {@code [gapStart, gapEnd)} being free.
+	 */
+	private byte[] buffer;
+
+	private int gapStart;
+
+	private int gapEnd;
+
+	/**
+	 * Creates an empty {@code ByteGapBuffer}.
+	 */
+	public ByteGapBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty {@code ByteGapBuffer}.
+	 *
+	 * @param initialCapacity The number of values the buffer can hold without resizing
+	 *        itself.
+	 */
+	public ByteGapBuffer(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}// else
+		buffer = new byte[initialCapacity];
+		gapEnd = initialCapacity;
+	}
+
+	/**
+	 * Creates a {@code ByteGapBuffer} containing a copy of the given values, the gap being
+	 * placed at the end.
+	 *
+	 * @param values The initial values.
+	 */
+	public ByteGapBuffer(byte[] values) {
+		this(values.length + DEFAULT_CAPACITY);
+		System.arraycopy(values, 0, buffer, 0, values.length);
+		gapStart = values.length;
+	}
+
+	/**
+	 * Returns the number of values in this buffer.
+	 *
+	 * @return the number of values in this buffer.
+	 */
+	public int size() {
+		return buffer.length - (gapEnd - gapStart);
+	}
+
+	/**
+	 * Returns {@code true} if this buffer contains no value.
+	 *
+	 * @return {@code true} if this buffer contains no value.
+	 */
+	public boolean isEmpty() {
+		return gapStart == 0 && gapEnd == buffer.length;
+	}
+
+	/**
+	 * Returns the value at the given index.
+	 *
+	 * @param index Index of the value.
+	 * @return the value at the given index.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	public byte get(int index) {
+		checkIndex(index, size() - 1);
+		return buffer[index < gapStart ? index : index + gapEnd - gapStart];
+	}
+
+	/**
+	 * Replaces the value at the given index.
+	 *
+	 * @param index Index of the value.
+	 * @param value The new value.
+	 * @return the previous value.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	public byte set(int index, byte value) {
+		checkIndex(index, size() - 1);
+		final int position = index < gapStart ? index : index + gapEnd - gapStart;
+		final byte previous = buffer[position];
+		buffer[position] = value;
+		return previous;
+	}
+
+	/**
+	 * Appends the given value.
+	 *
+	 * @param value The value to append.
+	 */
+	public void add(byte value) {
+		insert(size(), value);
+	}
+
+	/**
+	 * Inserts the given value at the given index, shifting the following values.
+	 *
+	 * @param index Index at which the value is inserted.
+	 * @param value The value to insert.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}.
+	 */
+	public void insert(int index, byte value) {
+		checkIndex(index, size());
+		moveGap(index, 1);
+		buffer[gapStart++] = value;
+	}
+
+	/**
+	 * Inserts the values of {@code values} in {@code [begin, end)} at the given index,
+	 * shifting the following values.
+	 *
+	 * @param index Index at which the values are inserted.
+	 * @param values The values to insert.
+	 * @param begin Index of the first value to insert.
+	 * @param end Index of the last value to insert + {@code 1}.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()} or if
+	 *         {@code [begin, end)} is not a range of {@code values}.
+	 */
+	public void insert(int index, byte[] values, int begin, int end) {
+		checkIndex(index, size());
+		checkRange(begin, end, values.length);
+		moveGap(index, end - begin);
+		System.arraycopy(values, begin, buffer, gapStart, end - begin);
+		gapStart += end - begin;
+	}
+
+	/**
+	 * Removes the value at the given index, shifting the following values.
+	 *
+	 * @param index Index of the value to remove.
+	 * @return the removed value.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	public byte remove(int index) {
+		checkIndex(index, size() - 1);
+		moveGap(index, 0);
+		return buffer[gapEnd++];
+	}
+
+	/**
+	 * Removes the values in {@code [begin, end)}, shifting the following values.
+	 *
+	 * @param begin Index of the first value to remove.
+	 * @param end Index of the last value to remove + {@code 1}.
+	 * @throws IndexOutOfBoundsException if {@code [begin, end)} is not a range of this
+	 *         buffer.
+	 */
+	public void remove(int begin, int end) {
+		checkRange(begin, end, size());
+		moveGap(begin, 0);
+		gapEnd += end - begin;
+	}
+
+	/**
+	 * Removes all the values, keeping the capacity.
+	 */
+	public void clear() {
+		gapStart = 0;
+		gapEnd = buffer.length;
+	}
+
+	/**
+	 * Returns a new array containing the values of this buffer.
+	 *
+	 * @return the values of this buffer.
+	 */
+	public byte[] toArray() {
+		final byte[] array = Arrays.copyOf(buffer, size());
+		System.arraycopy(buffer, gapEnd, array, gapStart, buffer.length - gapEnd);
+		return array;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	/**
+	 * Moves the gap to the given index, growing it to at least {@code minGap} slots.
+	 */
+	private void moveGap(int index, int minGap) {
+		final int gap = gapEnd - gapStart;
+		if (gap < minGap) {
+			final int capacity = buffer.length;
+			final int size = capacity - gap;
+			final int newCapacity = Math.max(capacity + (capacity >> 1) + 1, size + minGap);
+			final byte[] newBuffer = new byte[newCapacity];
+			final int newGapEnd = newCapacity - (size - index);
+			// Copying the values around the new position of the gap
+			if (index <= gapStart) {
+				System.arraycopy(buffer, 0, newBuffer, 0, index);
+				System.arraycopy(buffer, index, newBuffer, newGapEnd, gapStart - index);
+				System.arraycopy(buffer, gapEnd, newBuffer, newGapEnd + gapStart - index, capacity - gapEnd);
+			} else {
+				final int moved = index - gapStart;
+				System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+				System.arraycopy(buffer, gapEnd, newBuffer, gapStart, moved);
+				System.arraycopy(buffer, gapEnd + moved, newBuffer, newGapEnd, capacity - gapEnd - moved);
+			}
+			buffer = newBuffer;
+			gapStart = index;
+			gapEnd = newGapEnd;
+		} else if (index < gapStart) {
+			System.arraycopy(buffer, index, buffer, index + gap, gapStart - index);
+			gapEnd -= gapStart - index;
+			gapStart = index;
+		} else if (index > gapStart) {
+			System.arraycopy(buffer, gapEnd, buffer, gapStart, index - gapStart);
+			gapEnd += index - gapStart;
+			gapStart = index;
+		}
+	}
+
+	private static void checkIndex(int index, int max) {
+		if (index < 0 || index > max) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}
+	}
+
+	private static void checkRange(int begin, int end, int length) {
+		if (begin < 0 || end > length || begin > end) {
+			throw new IndexOutOfBoundsException("Begin = " + begin + ", End = " + end + ", Length = " + length);
+		}
+	}
+}
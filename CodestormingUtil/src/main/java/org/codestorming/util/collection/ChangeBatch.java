@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import org.codestorming.util.collection.CollectionChange.ChangeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes accumulated during a batch of an {@link ObservableCollection}.
+ * <p>
+ * A removal cancels the last pending addition of an equal value, so that a value added
+ * then removed during the batch does not appear in the notification.
+ * <p>
+ * The {@linkplain CollectionChange#isIndexed() indexed} changes are only merged with the
+ * previous change, whose index they depend on: consecutive ranges added or removed at the
+ * same place are merged into one range, and the values removed or replaced right after
+ * being added update the pending addition instead.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class ChangeBatch<E> implements Iterable<CollectionChange<E>> {
+
+	private final List<CollectionChange<E>> changes = new ArrayList<CollectionChange<E>>();
+
+	/**
+	 * Index in {@code changes} of the last pending addition of each value.
+	 */
+	private final Map<Object, Integer> lastAdditions = new HashMap<Object, Integer>();
+
+	/**
+	 * Index in {@code changes} of the previous pending addition of the same value, for each
+	 * addition, {@code -1} if there is none.
+	 */
+	private int[] previousAdditions = new int[16];
+
+	private int cancelled;
+
+	/**
+	 * Values of the last change, if it has been created by the batch and can be modified.
+	 */
+	private List<E> lastValues;
+
+	/**
+	 * Adds the given changes to this batch.
+	 *
+	 * @param newChanges The changes.
+	 */
+	void add(Iterable<CollectionChange<E>> newChanges) {
+		for (CollectionChange<E> change : newChanges) {
+			add(change);
+		}
+	}
+
+	private void add(CollectionChange<E> change) {
+		if (change.isIndexed()) {
+			addIndexed(change);
+			return;
+		}// else
+		lastValues = null;
+		final E value = change.getValue();
+		if (change.getType() == ChangeType.ADD) {
+			final int index = changes.size();
+			if (index >= previousAdditions.length) {
+				// The other changes do not use the array, which may lag behind them
+				previousAdditions = Arrays.copyOf(previousAdditions, Math.max(index + 1, index + (index >> 1)));
+			}
+			final Integer previous = lastAdditions.put(value, index);
+			previousAdditions[index] = previous != null ? previous : -1;
+			changes.add(change);
+		} else {
+			final Integer addition = lastAdditions.get(value);
+			if (addition == null) {
+				changes.add(change);
+			} else {
+				// The value was added during the batch, both changes cancel each other
+				final int previous = previousAdditions[addition];
+				if (previous >= 0) {
+					lastAdditions.put(value, previous);
+				} else {
+					lastAdditions.remove(value);
+				}
+				changes.set(addition, null);
+				cancelled++;
+			}
+		}
+	}
+
+	private void addIndexed(CollectionChange<E> change) {
+		final int lastPosition = changes.size() - 1;
+		final CollectionChange<E> last = lastPosition >= 0 ? changes.get(lastPosition) : null;
+		if (last != null && last.isIndexed()) {
+			final ChangeType lastType = last.getType();
+			final int offset = change.getIndex() - last.getIndex();
+			final int size = change.getSize();
+			if (lastType == change.getType() && (lastType == ChangeType.ADD && offset == last.getSize() ||
+					lastType == ChangeType.REMOVE && offset == 0)) {
+				// Extending the range
+				lastValues(lastPosition, last).addAll(change.getValues());
+				return;
+			} else if (lastType == ChangeType.ADD && offset >= 0 && offset + size <= last.getSize()) {
+				if (change.getType() == ChangeType.REMOVE) {
+					// Removing values just added
+					if (size == last.getSize()) {
+						changes.remove(lastPosition);
+						lastValues = null;
+					} else {
+						lastValues(lastPosition, last).subList(offset, offset + size).clear();
+					}
+					return;
+				} else if (change.getType() == ChangeType.REPLACE) {
+					// Replacing values just added
+					final List<E> values = lastValues(lastPosition, last);
+					for (int i = 0; i < size; i++) {
+						values.set(offset + i, change.getValues().get(i));
+					}
+					return;
+				}// else
+			}// else
+		}
+		lastValues = null;
+		changes.add(change);
+	}
+
+	/**
+	 * Returns the modifiable values of the given last change, replacing it by a copy if they
+	 * are not.
+	 */
+	private List<E> lastValues(int lastPosition, CollectionChange<E> last) {
+		if (lastValues == null) {
+			lastValues = new ArrayList<E>(last.getValues());
+			final CollectionChange<E> copy;
+			if (last.getType() == ChangeType.ADD) {
+				copy = CollectionChange.added(last.getIndex(), lastValues);
+			} else {
+				copy = CollectionChange.removed(last.getIndex(), lastValues);
+			}
+			changes.set(lastPosition, copy);
+		}
+		return lastValues;
+	}
+
+	/**
+	 * Returns the pending changes of this batch, in the order they happened.
+	 *
+	 * @return the pending changes.
+	 */
+	List<CollectionChange<E>> getChanges() {
+		if (cancelled == 0) {
+			return changes;
+		}// else
+		final List<CollectionChange<E>> pending = new ArrayList<CollectionChange<E>>(changes.size() - cancelled);
+		for (CollectionChange<E> change : changes) {
+			if (change != null) {
+				pending.add(change);
+			}
+		}
+		return pending;
+	}
+
+	@Override
+	public Iterator<CollectionChange<E>> iterator() {
+		return getChanges().iterator();
+	}
+}
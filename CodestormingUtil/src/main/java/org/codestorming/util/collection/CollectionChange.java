@@ -11,8 +11,26 @@
  */
 package org.codestorming.util.collection;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Describes a change that happend on an {@link ObservableCollection}.
+ * <p/>
+ * A change concerns a single value, or a range of consecutive values when it happened at a
+ * known index of an {@link ObservableList}:
+ * <ul>
+ * <li>{@link ChangeType#ADD}: the {@linkplain #getValues() values} have been inserted, the
+ * first one at the {@linkplain #getIndex() index} of the change;</li>
+ * <li>{@link ChangeType#REMOVE}: the values have been removed, the first one from the
+ * index of the change;</li>
+ * <li>{@link ChangeType#REPLACE}: the {@linkplain #getOldValues() old values} starting at
+ * the index of the change have been replaced by the values;</li>
+ * <li>{@link ChangeType#MOVE}: the values starting at the {@linkplain #getFromIndex() from
+ * index} have been moved, the first one being now at the index of the change.</li>
+ * </ul>
+ * The index of a change is relative to the state of the list right after the previous
+ * change of the same notification.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  * @since 1.2
@@ -25,15 +43,115 @@ public class CollectionChange<T> {
 	public enum ChangeType {
 		ADD,
 		REMOVE,
+		/**
+		 * @since 1.7
+		 */
+		REPLACE,
+		/**
+		 * @since 1.7
+		 */
+		MOVE,
 	}
 
 	protected final ChangeType type;
 
 	protected final T value;
 
+	/**
+	 * @since 1.7
+	 */
+	protected final int index;
+
+	/**
+	 * @since 1.7
+	 */
+	protected final int fromIndex;
+
+	/**
+	 * @since 1.7
+	 */
+	protected final List<T> values;
+
+	/**
+	 * @since 1.7
+	 */
+	protected final List<T> oldValues;
+
 	public CollectionChange(ChangeType type, T value) {
+		this(type, -1, -1, Collections.singletonList(value), Collections.<T> emptyList());
+	}
+
+	/**
+	 * Creates a {@code CollectionChange}.
+	 *
+	 * @param type The type of change.
+	 * @param index The index of the change, {@code -1} if unknown.
+	 * @param fromIndex The index the values have been moved from, {@code -1} if the change is
+	 *        not a move.
+	 * @param values The values of the change, not empty.
+	 * @param oldValues The replaced values, empty if the change is not a replacement.
+	 * @since 1.7
+	 */
+	protected CollectionChange(ChangeType type, int index, int fromIndex, List<T> values, List<T> oldValues) {
 		this.type = type;
-		this.value = value;
+		this.index = index;
+		this.fromIndex = fromIndex;
+		this.values = values;
+		this.oldValues = oldValues;
+		value = values.get(0);
+	}
+
+	/**
+	 * Creates the change of the given values inserted at the given index.
+	 *
+	 * @param index The index of the first inserted value.
+	 * @param values The inserted values, not copied.
+	 * @return the change.
+	 * @since 1.7
+	 */
+	public static <T> CollectionChange<T> added(int index, List<T> values) {
+		return new CollectionChange<T>(ChangeType.ADD, index, -1, values, Collections.<T> emptyList());
+	}
+
+	/**
+	 * Creates the change of the given values removed from the given index.
+	 *
+	 * @param index The index of the first removed value.
+	 * @param values The removed values, not copied.
+	 * @return the change.
+	 * @since 1.7
+	 */
+	public static <T> CollectionChange<T> removed(int index, List<T> values) {
+		return new CollectionChange<T>(ChangeType.REMOVE, index, -1, values, Collections.<T> emptyList());
+	}
+
+	/**
+	 * Creates the change of the values starting at the given index replaced by new ones.
+	 *
+	 * @param index The index of the first replaced value.
+	 * @param oldValues The replaced values, not copied.
+	 * @param newValues The new values, as many as the replaced ones, not copied.
+	 * @return the change.
+	 * @since 1.7
+	 */
+	public static <T> CollectionChange<T> replaced(int index, List<T> oldValues, List<T> newValues) {
+		if (oldValues.size() != newValues.size()) {
+			throw new IllegalArgumentException("As many values must be replaced as new values.");
+		}// else
+		return new CollectionChange<T>(ChangeType.REPLACE, index, -1, newValues, oldValues);
+	}
+
+	/**
+	 * Creates the change of the given values moved from the given index to another one.
+	 *
+	 * @param fromIndex The index of the first moved value, before the move.
+	 * @param toIndex The index of the first moved value, after the move.
+	 * @param values The moved values, not copied.
+	 * @return the change.
+	 * @since 1.7
+	 */
+	public static <T> CollectionChange<T> moved(int fromIndex, int toIndex, List<T> values) {
+		return new CollectionChange<T>(ChangeType.MOVE, toIndex, fromIndex, values, Collections.<T> emptyList());
 	}
 
 	/**
@@ -51,10 +169,96 @@ public class CollectionChange<T> {
 	 * Returns the removed element if the change type is {@link ChangeType#REMOVE}
 	 * <p/>
 	 * Returns the added element if the change type is {@link ChangeType#ADD}
+	 * <p/>
+	 * Returns the new element if the change type is {@link ChangeType#REPLACE}
+	 * <p/>
+	 * Returns the moved element if the change type is {@link ChangeType#MOVE}
+	 * <p/>
+	 * When the change concerns a range of values, returns the first one.
 	 *
 	 * @return the value concerning the change.
 	 */
 	public T getValue() {
 		return value;
 	}
+
+	/**
+	 * Returns the values concerning the change, in the order of the collection.
+	 *
+	 * @return the values concerning the change.
+	 * @see #getValue()
+	 * @since 1.7
+	 */
+	public List<T> getValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the values replaced by the change if its type is {@link ChangeType#REPLACE}, an
+	 * empty list otherwise.
+	 *
+	 * @return the replaced values.
+	 * @since 1.7
+	 */
+	public List<T> getOldValues() {
+		return oldValues;
+	}
+
+	/**
+	 * Returns the number of values concerning the change.
+	 *
+	 * @return the number of values concerning the change.
+	 * @since 1.7
+	 */
+	public int getSize() {
+		return values.size();
+	}
+
+	/**
+	 * Returns the index of the first value concerning the change, {@code -1} if the change
+	 * did not happen at a known index.
+	 *
+	 * @return the index of the change or {@code -1}.
+	 * @since 1.7
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the index the values were moved from if the type of the change is
+	 * {@link ChangeType#MOVE}, {@code -1} otherwise.
+	 *
+	 * @return the index the values were moved from or {@code -1}.
+	 * @since 1.7
+	 */
+	public int getFromIndex() {
+		return fromIndex;
+	}
+
+	/**
+	 * Indicates if the change happened at a known index.
+	 *
+	 * @return {@code true} if the change happened at a known index.
+	 * @since 1.7
+	 */
+	public boolean isIndexed() {
+		return index >= 0;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder(type.name());
+		if (index >= 0) {
+			builder.append('@');
+			if (fromIndex >= 0) {
+				builder.append(fromIndex).append("->");
+			}
+			builder.append(index);
+		}
+		if (!oldValues.isEmpty()) {
+			builder.append(' ').append(oldValues).append(" ->");
+		}
+		return builder.append(' ').append(values.size() == 1 ? value : values).toString();
+	}
 }
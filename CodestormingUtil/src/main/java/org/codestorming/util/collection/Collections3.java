@@ -16,9 +16,14 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Utility class that operates on or returns collections from
@@ -37,6 +42,13 @@ public class Collections3 {
 
 	/**
 	 * Returns a <em>thread-safe</em> {@link OrderedSet} backed with the given one.
+	 * <p>
+	 * Every method of the returned set is synchronized on the returned set itself, reads
+	 * included. The iterators are not: the user must manually synchronize on the returned
+	 * set when iterating over it.
+	 * <p>
+	 * For sets that are read by many threads and seldom modified, a
+	 * {@link CopyOnWriteOrderedSet} does not lock on reads and its iterators are safe.
 	 * 
 	 * @param orderedSet {@link OrderedSet} to synchronize.
 	 * @return a <em>thread-safe</em> {@link OrderedSet} backed with the given one.
@@ -56,6 +68,31 @@ public class Collections3 {
 		return new UnmodifiableOrderedSet<T>(orderedSet);
 	}
 
+	/**
+	 * Returns an immutable {@link OrderedSet} containing the elements of the given
+	 * collection, in its iteration order and without the duplicates, laid out for reads.
+	 * <p>
+	 * Unlike {@link #unmodifiableOrderedSet(OrderedSet)}, the returned set is a copy: it
+	 * keeps its elements in an array of the exact size and indexes them with a perfect hash
+	 * table, so that {@link OrderedSet#contains(Object) contains()} and
+	 * {@link OrderedSet#indexOf(Object) indexOf()} read one slot and call {@code equals()}
+	 * at most once. The sets of up to 4 elements are kept in fields without any index. The
+	 * elements are compared with their {@code equals()} method. The returned set is
+	 * serializable.
+	 * 
+	 * @param c The collection whose elements are to be placed into the set.
+	 * @return an immutable {@link OrderedSet} containing the elements of the given
+	 *         collection.
+	 * @since 1.7
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> OrderedSet<T> freeze(Collection<? extends T> c) {
+		if (c instanceof FrozenOrderedSet || c == EMPTY_ORDERED_SET) {
+			return (OrderedSet<T>) c;
+		}// else
+		return FrozenOrderedSet.of(c.toArray());
+	}
+
 	/**
 	 * Returns the empty {@link OrderedSet} (immutable). This ordered set is serializable.
 	 * 
@@ -109,6 +146,11 @@ public class Collections3 {
 			return delegate.iterator();
 		}
 
+		// Must be manually synchronized by the user, like the iterators
+		public Spliterator<E> spliterator() {
+			return delegate.spliterator();
+		}
+
 		public synchronized Object[] toArray() {
 			return delegate.toArray();
 		}
@@ -177,6 +219,22 @@ public class Collections3 {
 			return delegate.retainAll(c);
 		}
 
+		public synchronized boolean removeIf(Predicate<? super E> filter) {
+			return delegate.removeIf(filter);
+		}
+
+		public synchronized void replaceAll(UnaryOperator<E> operator) {
+			delegate.replaceAll(operator);
+		}
+
+		public synchronized void sort(Comparator<? super E> c) {
+			delegate.sort(c);
+		}
+
+		public synchronized void forEach(Consumer<? super E> action) {
+			delegate.forEach(action);
+		}
+
 		public synchronized String toString() {
 			return delegate.toString();
 		}
@@ -229,6 +287,11 @@ public class Collections3 {
 			return listIterator();
 		}
 
+		public Spliterator<E> spliterator() {
+			// A spliterator cannot modify the set
+			return delegate.spliterator();
+		}
+
 		public Object[] toArray() {
 			return delegate.toArray();
 		}
@@ -374,6 +437,11 @@ public class Collections3 {
 			return listIterator();
 		}
 
+		@Override
+		public Spliterator<Object> spliterator() {
+			return new IndexSpliterator<Object>(this);
+		}
+
 		@Override
 		public Object[] toArray() {
 			return new Object[0];
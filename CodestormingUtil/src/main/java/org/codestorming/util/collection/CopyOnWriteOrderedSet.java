@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A <em>thread-safe</em> {@link OrderedSet} in which all the modifications are made on a
+ * fresh copy of the underlying {@link OrderedHashSet}, which is then published.
+ * <p>
+ * The read operations ({@link #get(int)}, {@link #contains(Object)},
+ * {@link #indexOf(Object)}, {@link #size()}...) take no lock: they read the last published
+ * copy, which is never modified. The modifications are serialized by a lock and cost a copy
+ * of the arrays of the set, which makes this class suitable when reads vastly outnumber
+ * writes.
+ * <p>
+ * The iterators work on the copy that was published when they were created: they never
+ * throw a {@link java.util.ConcurrentModificationException}, do not reflect the later
+ * modifications and do not support the modification methods.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see Collections3#synchronizedOrderedSet(OrderedSet)
+ * @since 1.7
+ */
+public class CopyOnWriteOrderedSet<E> extends AbstractOrderedSet<E> implements Serializable {
+
+	private static final long serialVersionUID = -4517683062347811528L;
+
+	/**
+	 * The last published copy, must never be modified once published.
+	 */
+	private volatile OrderedHashSet<E> snapshot;
+
+	private transient ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Creates an empty {@code CopyOnWriteOrderedSet}.
+	 */
+	public CopyOnWriteOrderedSet() {
+		snapshot = new OrderedHashSet<E>(0);
+	}
+
+	/**
+	 * Creates an empty {@code CopyOnWriteOrderedSet} comparing its elements with the given
+	 * {@link Equivalence}.
+	 *
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @see OrderedHashSet#OrderedHashSet(int, Equivalence)
+	 */
+	public CopyOnWriteOrderedSet(Equivalence<? super E> equivalence) {
+		snapshot = new OrderedHashSet<E>(0, equivalence);
+	}
+
+	/**
+	 * Creates a {@code CopyOnWriteOrderedSet} containing the elements of the given
+	 * collection, in its iteration order.
+	 *
+	 * @param c The collection whose elements are to be placed into this set.
+	 */
+	public CopyOnWriteOrderedSet(Collection<? extends E> c) {
+		snapshot = new OrderedHashSet<E>(c);
+	}
+
+	@SuppressWarnings("unchecked")
+	private OrderedHashSet<E> copy() {
+		return (OrderedHashSet<E>) snapshot.clone();
+	}
+
+	@Override
+	public int size() {
+		return snapshot.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return snapshot.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return snapshot.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return snapshot.containsAll(c);
+	}
+
+	@Override
+	public E get(int index) {
+		return snapshot.get(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return snapshot.indexOf(o);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return snapshot.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return snapshot.toArray(a);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		return Collections.unmodifiableList(snapshot).listIterator(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Like the iterators, the spliterator works on the copy published when it was created.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return snapshot.spliterator();
+	}
+
+	@Override
+	public List<E> subList(int fromIndex, int toIndex) {
+		return Collections.unmodifiableList(snapshot.subList(fromIndex, toIndex));
+	}
+
+	@Override
+	public boolean add(E e) {
+		if (snapshot.contains(e)) {
+			// Avoids a useless copy
+			return false;
+		}// else
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean added = copy.add(e);
+			if (added) {
+				snapshot = copy;
+			}
+			return added;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, E element) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			copy.add(index, element);
+			snapshot = copy;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean modified = copy.addAll(index, c);
+			if (modified) {
+				snapshot = copy;
+			}
+			return modified;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E set(int index, E element) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final E previous = copy.set(index, element);
+			snapshot = copy;
+			return previous;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E remove(int index) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final E removed = copy.remove(index);
+			snapshot = copy;
+			return removed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (!snapshot.contains(o)) {
+			// Avoids a useless copy
+			return false;
+		}// else
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean removed = copy.remove(o);
+			if (removed) {
+				snapshot = copy;
+			}
+			return removed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean modified = copy.removeAll(c);
+			if (modified) {
+				snapshot = copy;
+			}
+			return modified;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean modified = copy.retainAll(c);
+			if (modified) {
+				snapshot = copy;
+			}
+			return modified;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			final boolean modified = copy.removeIf(filter);
+			if (modified) {
+				snapshot = copy;
+			}
+			return modified;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<E> operator) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			copy.replaceAll(operator);
+			snapshot = copy;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void sort(Comparator<? super E> c) {
+		lock.lock();
+		try {
+			final OrderedHashSet<E> copy = copy();
+			copy.sort(c);
+			snapshot = copy;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			snapshot = new OrderedHashSet<E>(0, snapshot.getEquivalence());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this || snapshot.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return snapshot.hashCode();
+	}
+
+	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		lock = new ReentrantLock();
+	}
+}
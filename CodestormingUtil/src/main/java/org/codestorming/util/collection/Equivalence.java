@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Strategy deciding whether two objects are equivalent, and hashing them accordingly.
+ * <p>
+ * The hash based collections of this package use {@link #equality()} by default, that is
+ * {@link Object#equals(Object)} and {@link Object#hashCode()}. They can be given another
+ * strategy, like {@link #identity()}, to avoid wrapping elements whose {@code equals()} is
+ * expensive or whose {@code hashCode()} is poorly distributed.
+ * <p>
+ * Implementations must accept {@code null} and be consistent: equivalent objects must
+ * have the same hash. A collection using a strategy is only serializable if its strategy
+ * is.
+ *
+ * @param <T> The type of the compared objects.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public abstract class Equivalence<T> {
+
+	/**
+	 * Returns the hash of the given object.
+	 *
+	 * @param o The object to hash, may be {@code null}.
+	 * @return the hash of the given object.
+	 */
+	public abstract int hash(T o);
+
+	/**
+	 * Indicates whether the two given objects are equivalent.
+	 *
+	 * @param a The first object, may be {@code null}.
+	 * @param b The second object, may be {@code null}.
+	 * @return {@code true} if the given objects are equivalent.
+	 */
+	public abstract boolean equivalent(T a, T b);
+
+	/**
+	 * Returns the {@code Equivalence} based on {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}, {@code null} being only equivalent to itself.
+	 *
+	 * @return the {@code Equivalence} based on {@link Object#equals(Object)}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Equivalence<T> equality() {
+		return (Equivalence<T>) Equality.INSTANCE;
+	}
+
+	/**
+	 * Returns the {@code Equivalence} based on the references, using
+	 * {@link System#identityHashCode(Object)}.
+	 *
+	 * @return the {@code Equivalence} based on the references.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Equivalence<T> identity() {
+		return (Equivalence<T>) Identity.INSTANCE;
+	}
+
+	private static final class Equality extends Equivalence<Object> implements Serializable {
+
+		private static final long serialVersionUID = -1457281372547637052L;
+
+		static final Equality INSTANCE = new Equality();
+
+		@Override
+		public int hash(Object o) {
+			return o == null ? 0 : o.hashCode();
+		}
+
+		@Override
+		public boolean equivalent(Object a, Object b) {
+			return a == b || a != null && a.equals(b);
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			return INSTANCE;
+		}
+
+		@Override
+		public String toString() {
+			return "Equivalence.equality()";
+		}
+	}
+
+	private static final class Identity extends Equivalence<Object> implements Serializable {
+
+		private static final long serialVersionUID = 6294702573211563817L;
+
+		static final Identity INSTANCE = new Identity();
+
+		@Override
+		public int hash(Object o) {
+			return System.identityHashCode(o);
+		}
+
+		@Override
+		public boolean equivalent(Object a, Object b) {
+			return a == b;
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			return INSTANCE;
+		}
+
+		@Override
+		public String toString() {
+			return "Equivalence.identity()";
+		}
+	}
+}
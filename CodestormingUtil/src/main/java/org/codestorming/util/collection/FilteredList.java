@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * View of the elements of a source list accepted by a predicate, in the order of the
+ * source.
+ * <p>
+ * All the elements of the source are kept in a {@link RankTree}, the accepted ones being
+ * selected, so that the index of a change in the view is the number of accepted elements
+ * preceding it in the source.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class FilteredList<E> extends SourceView<E, E> {
+
+	private final Predicate<? super E> predicate;
+
+	private final RankTree<E> elements = new RankTree<E>();
+
+	FilteredList(ObservableList<E> source, Predicate<? super E> predicate) {
+		super(source);
+		if (predicate == null) {
+			throw new NullPointerException("The predicate cannot be null");
+		}// else
+		this.predicate = predicate;
+		attach();
+	}
+
+	@Override
+	public E get(int index) {
+		return elements.selected(index).value;
+	}
+
+	@Override
+	public int size() {
+		return elements.selectedCount();
+	}
+
+	@Override
+	protected void load(List<E> elements) {
+		for (E element : elements) {
+			this.elements.insert(this.elements.size(), element, predicate.test(element));
+		}
+	}
+
+	@Override
+	protected void unload() {
+		elements.clear();
+	}
+
+	@Override
+	protected void apply(CollectionChange<E> change) {
+		final int index = change.getIndex();
+		final List<E> values = change.getValues();
+		switch (change.getType()) {
+		case ADD: {
+			final int viewIndex = elements.selectedBefore(index);
+			List<E> accepted = null;
+			for (int i = 0; i < values.size(); i++) {
+				final E value = values.get(i);
+				final boolean selected = predicate.test(value);
+				elements.insert(index + i, value, selected);
+				if (selected) {
+					accepted = add(accepted, value);
+				}
+			}
+			if (accepted != null) {
+				fire(CollectionChange.added(viewIndex, accepted));
+			}
+			break;
+		}
+		case REMOVE: {
+			final int viewIndex = elements.selectedBefore(index);
+			List<E> removed = null;
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = elements.remove(index);
+				if (node.isSelected()) {
+					removed = add(removed, node.value);
+				}
+			}
+			if (removed != null) {
+				fire(CollectionChange.removed(viewIndex, removed));
+			}
+			break;
+		}
+		case REPLACE:
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = elements.node(index + i);
+				final E oldValue = node.value;
+				final E newValue = values.get(i);
+				final boolean wasSelected = node.isSelected();
+				final boolean selected = predicate.test(newValue);
+				final int viewIndex = elements.selectedIndex(node);
+				node.value = newValue;
+				elements.setSelected(node, selected);
+				if (wasSelected && selected) {
+					fire(CollectionChange.replaced(viewIndex, Collections.singletonList(oldValue),
+							Collections.singletonList(newValue)));
+				} else if (wasSelected) {
+					fire(CollectionChange.removed(viewIndex, Collections.singletonList(oldValue)));
+				} else if (selected) {
+					fire(CollectionChange.added(viewIndex, Collections.singletonList(newValue)));
+				}
+			}
+			break;
+		case MOVE: {
+			final int fromIndex = change.getFromIndex();
+			final int viewFromIndex = elements.selectedBefore(fromIndex);
+			final List<RankTree.Node<E>> moved = new ArrayList<RankTree.Node<E>>(values.size());
+			List<E> accepted = null;
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = elements.remove(fromIndex);
+				moved.add(node);
+				if (node.isSelected()) {
+					accepted = add(accepted, node.value);
+				}
+			}
+			for (int i = 0; i < moved.size(); i++) {
+				elements.insert(index + i, moved.get(i));
+			}
+			final int viewIndex = elements.selectedBefore(index);
+			if (accepted != null && viewIndex != viewFromIndex) {
+				fire(CollectionChange.moved(viewFromIndex, viewIndex, accepted));
+			}
+			break;
+		}
+		}
+	}
+
+	private static <E> List<E> add(List<E> list, E value) {
+		if (list == null) {
+			list = new ArrayList<E>();
+		}
+		list.add(value);
+		return list;
+	}
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable {@link OrderedSet} laid out for reads, created by
+ * {@link Collections3#freeze(Collection)}.
+ * <p>
+ * The sets of up to 4 elements keep them in fields and look them up linearly. The larger
+ * ones keep a dense array of the elements, their hashes and a perfect hash index built
+ * with the <em>hash and displace</em> method: the elements are spread in buckets, and
+ * each bucket gets the displacement value placing all of its elements in free slots of
+ * the index. A lookup then reads one displacement and one slot, and calls
+ * {@code equals()} at most once.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+abstract class FrozenOrderedSet<E> extends AbstractOrderedSet<E> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = 2408233453151402046L;
+
+	private static final String UNMODIFIABLE = "Cannot modify a frozen OrderedSet";
+
+	/**
+	 * Maximum size of the sets without an index.
+	 */
+	static final int SMALL_SIZE = 4;
+
+	/**
+	 * Returns an immutable {@link OrderedSet} containing the given elements, in order and
+	 * without duplicates.
+	 *
+	 * @param elements The elements, this array is not copied and may be modified.
+	 * @return an immutable {@link OrderedSet} containing the given elements.
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> OrderedSet<E> of(Object[] elements) {
+		final Object[] distinct = elements.length <= SMALL_SIZE ? Small.distinct(elements) : elements;
+		switch (distinct.length) {
+		case 0:
+			return Collections3.emptyOrderedSet();
+		case 1:
+		case 2:
+		case 3:
+		case 4:
+			return new Small<E>(distinct);
+		default:
+			return new Hashed<E>(distinct);
+		}
+	}
+
+	static int hash(Object o) {
+		if (o == null) {
+			return 0;
+		}// else
+		final int h = o.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	static boolean eq(Object o1, Object o2) {
+		return o1 == o2 || o1 != null && o1.equals(o2);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return indexOf(o);
+	}
+
+	@Override
+	public boolean add(E e) {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException(UNMODIFIABLE);
+	}
+
+	Object writeReplace() throws ObjectStreamException {
+		return new SerializedForm(toArray());
+	}
+
+	/**
+	 * Serialized form of the frozen sets: their elements in order.
+	 */
+	private static class SerializedForm implements Serializable {
+
+		private static final long serialVersionUID = 6016286133302937548L;
+
+		private final Object[] elements;
+
+		SerializedForm(Object[] elements) {
+			this.elements = elements;
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			return of(elements);
+		}
+	}
+
+	/**
+	 * Frozen set of 1 to 4 elements.
+	 */
+	static final class Small<E> extends FrozenOrderedSet<E> {
+
+		private static final long serialVersionUID = -5325174153811733419L;
+
+		private final int size;
+		private final E e0;
+		private final E e1;
+		private final E e2;
+		private final E e3;
+
+		@SuppressWarnings("unchecked")
+		Small(Object[] elements) {
+			size = elements.length;
+			e0 = (E) elements[0];
+			e1 = size > 1 ? (E) elements[1] : null;
+			e2 = size > 2 ? (E) elements[2] : null;
+			e3 = size > 3 ? (E) elements[3] : null;
+		}
+
+		/**
+		 * Returns the given elements without the duplicates.
+		 */
+		static Object[] distinct(Object[] elements) {
+			int size = 0;
+			for (int i = 0; i < elements.length; i++) {
+				final Object e = elements[i];
+				int j = 0;
+				while (j < size && !eq(elements[j], e)) {
+					j++;
+				}
+				if (j == size) {
+					elements[size++] = e;
+				}
+			}
+			return size == elements.length ? elements : Arrays.copyOf(elements, size);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public E get(int index) {
+			switch (index < size ? index : -1) {
+			case 0:
+				return e0;
+			case 1:
+				return e1;
+			case 2:
+				return e2;
+			case 3:
+				return e3;
+			default:
+				throw new IndexOutOfBoundsException("Index = " + index);
+			}
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			if (eq(o, e0)) {
+				return 0;
+			} else if (size > 1 && eq(o, e1)) {
+				return 1;
+			} else if (size > 2 && eq(o, e2)) {
+				return 2;
+			} else if (size > 3 && eq(o, e3)) {
+				return 3;
+			}// else
+			return -1;
+		}
+	}
+
+	/**
+	 * Frozen set with a perfect hash index.
+	 */
+	static final class Hashed<E> extends FrozenOrderedSet<E> {
+
+		private static final long serialVersionUID = -2174263934683369286L;
+
+		/**
+		 * Average number of elements per bucket.
+		 */
+		private static final int BUCKET_SIZE = 4;
+
+		/**
+		 * Number of displacements tried for a bucket before falling back to linear probing.
+		 */
+		private static final int MAX_DISPLACEMENT = 1 << 16;
+
+		private final E[] elements;
+
+		/**
+		 * Index of the elements: each slot is a pair of ints holding the hash of an element
+		 * and its index plus {@code 1}, {@code 0} being a free slot. Keeping the hash next to
+		 * the index lets a lookup read a single cache line before calling {@code equals()}.
+		 */
+		private final int[] slots;
+
+		/**
+		 * Displacement of each bucket, or {@code null} if the elements could not be placed
+		 * without collision, {@link #slots} being then a linear probing table whose number
+		 * of slots is a power of two.
+		 */
+		private final int[] displacements;
+
+		@SuppressWarnings("unchecked")
+		Hashed(Object[] elements) {
+			final int[] hashes = new int[elements.length];
+			int length = 16;
+			while (length < elements.length + (elements.length >>> 2) && length < 1 << 29) {
+				length <<= 1;
+			}
+			// The linear probing table also removes the duplicates
+			final int[] probing = new int[length << 1];
+			final int mask = length - 1;
+			int size = 0;
+			for (int i = 0; i < elements.length; i++) {
+				final Object e = elements[i];
+				final int hash = hash(e);
+				int slot = hash & mask;
+				int index;
+				while ((index = probing[(slot << 1) + 1] - 1) >= 0
+						&& !(probing[slot << 1] == hash && eq(e, elements[index]))) {
+					slot = (slot + 1) & mask;
+				}
+				if (index < 0) {
+					elements[size] = e;
+					hashes[size] = hash;
+					probing[slot << 1] = hash;
+					probing[(slot << 1) + 1] = ++size;
+				}
+			}
+			this.elements = (E[]) (size == elements.length ? elements : Arrays.copyOf(elements, size));
+			// The perfect hash index can be almost full
+			final int[] displaced = new int[(size + (size >>> 3) + 1) << 1];
+			final int[] displacements = displace(hashes, size, displaced);
+			this.slots = displacements != null ? displaced : probing;
+			this.displacements = displacements;
+		}
+
+		/**
+		 * Finds the displacement of each bucket so that all the hashes land in distinct
+		 * slots, or returns {@code null} if there is none.
+		 */
+		private static int[] displace(int[] hashes, int size, int[] slots) {
+			final int slotCount = slots.length >>> 1;
+			int bucketCount = 1;
+			while (bucketCount * BUCKET_SIZE < size) {
+				bucketCount <<= 1;
+			}
+			final int bucketMask = bucketCount - 1;
+			// Grouping the elements by bucket (counting sort)
+			final int[] bucketStart = new int[bucketCount + 1];
+			for (int i = 0; i < size; i++) {
+				bucketStart[(hashes[i] & bucketMask) + 1]++;
+			}
+			int maxBucketSize = 0;
+			for (int b = 0; b < bucketCount; b++) {
+				maxBucketSize = Math.max(maxBucketSize, bucketStart[b + 1]);
+				bucketStart[b + 1] += bucketStart[b];
+			}
+			final int[] members = new int[size];
+			final int[] fill = Arrays.copyOf(bucketStart, bucketCount);
+			for (int i = 0; i < size; i++) {
+				members[fill[hashes[i] & bucketMask]++] = i;
+			}
+			// Placing the largest buckets first, while the index is still empty
+			final int[] bySize = new int[bucketCount];
+			final int[] sizeStart = new int[maxBucketSize + 2];
+			for (int b = 0; b < bucketCount; b++) {
+				sizeStart[maxBucketSize - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+			}
+			for (int s = 1; s < sizeStart.length; s++) {
+				sizeStart[s] += sizeStart[s - 1];
+			}
+			for (int b = 0; b < bucketCount; b++) {
+				bySize[sizeStart[maxBucketSize - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+			}
+			final int[] displacements = new int[bucketCount];
+			final int[] placed = new int[maxBucketSize];
+			for (int b : bySize) {
+				final int from = bucketStart[b];
+				final int to = bucketStart[b + 1];
+				if (from == to) {
+					break;
+				}// else
+				for (int i = from + 1; i < to; i++) {
+					for (int j = from; j < i; j++) {
+						if (hashes[members[i]] == hashes[members[j]]) {
+							// No displacement can separate them
+							return null;
+						}
+					}
+				}
+				int displacement = 0;
+				search: while (true) {
+					if (displacement == MAX_DISPLACEMENT) {
+						return null;
+					}// else
+					for (int i = from; i < to; i++) {
+						final int slot = slot(hashes[members[i]], displacement, slotCount);
+						boolean free = slots[(slot << 1) + 1] == 0;
+						for (int j = 0; free && j < i - from; j++) {
+							free = placed[j] != slot;
+						}
+						if (!free) {
+							displacement++;
+							continue search;
+						}// else
+						placed[i - from] = slot;
+					}
+					break;
+				}
+				for (int i = from; i < to; i++) {
+					final int member = members[i];
+					slots[placed[i - from] << 1] = hashes[member];
+					slots[(placed[i - from] << 1) + 1] = member + 1;
+				}
+				displacements[b] = displacement;
+			}
+			return displacements;
+		}
+
+		/**
+		 * Returns the slot of the given hash with the given displacement, mixing the bits
+		 * again so that it does not depend on the bits selecting the bucket.
+		 */
+		private static int slot(int hash, int displacement, int slotCount) {
+			int h = hash + displacement * 0x9E3779B9;
+			h ^= h >>> 16;
+			h *= 0x85EBCA6B;
+			h ^= h >>> 13;
+			h *= 0xC2B2AE35;
+			h ^= h >>> 16;
+			// Maps the 32 bits of h to [0, slotCount) without a division
+			return (int) (((h & 0xFFFFFFFFL) * slotCount) >>> 32);
+		}
+
+		@Override
+		public int size() {
+			return elements.length;
+		}
+
+		@Override
+		public E get(int index) {
+			return elements[index];
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			final int hash = hash(o);
+			final int[] slots = this.slots;
+			if (displacements != null) {
+				final int slot = slot(hash, displacements[hash & (displacements.length - 1)], slots.length >>> 1) << 1;
+				final int index = slots[slot + 1] - 1;
+				return index >= 0 && slots[slot] == hash && eq(o, elements[index]) ? index : -1;
+			}// else
+			final int mask = (slots.length >>> 1) - 1;
+			for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+				final int index = slots[(slot << 1) + 1] - 1;
+				if (index < 0) {
+					return -1;
+				} else if (slots[slot << 1] == hash && eq(o, elements[index])) {
+					return index;
+				}
+			}
+		}
+
+		@Override
+		public Object[] toArray() {
+			return elements.clone();
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * {@link java.util.List} backed by a <em>gap buffer</em>, for the sequences of edits
+ * around the same index.
+ * <p>
+ * The elements are stored in an array with a gap of free slots, which is moved to the
+ * index of each insertion or removal. A sequence of edits around the same index then
+ * costs amortized {@code O(1)} per element, moving the gap costing the distance it
+ * travels. {@link #get(int)} and {@link #set(int, Object)} are done in constant time.
+ * <p>
+ * Unlike {@link Arrays2#insert(Object[], int, Object)} and
+ * {@link Arrays2#remove(Object[], int)}, the edits do not allocate a new array,
+ * {@link #toArray(Object[])} returning the elements once the edits are done.
+ * {@link IntGapBuffer}, {@link LongGapBuffer}, {@link DoubleGapBuffer} and
+ * {@link ByteGapBuffer} are the primitive counterparts of this class.
+ *
+ * @param <E> The type of the elements.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see Arrays2
+ * @since 1.7
+ */
+public class GapBuffer<E> extends AbstractList<E> implements RandomAccess {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The elements, the slots in {@code [gapStart, gapEnd)} being free and {@code null}.
+	 */
+	private Object[] buffer;
+
+	private int gapStart;
+
+	private int gapEnd;
+
+	/**
+	 * Creates an empty {@code GapBuffer}.
+	 */
+	public GapBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty {@code GapBuffer}.
+	 *
+	 * @param initialCapacity The number of elements the buffer can hold without resizing
+	 *        itself.
+	 */
+	public GapBuffer(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}// else
+		buffer = new Object[initialCapacity];
+		gapEnd = initialCapacity;
+	}
+
+	/**
+	 * Creates a {@code GapBuffer} containing the elements of the given collection, in its
+	 * iteration order, the gap being placed at the end.
+	 *
+	 * @param c The initial elements.
+	 */
+	public GapBuffer(Collection<? extends E> c) {
+		final Object[] elements = c.toArray();
+		buffer = Arrays.copyOf(elements, elements.length + DEFAULT_CAPACITY, Object[].class);
+		gapStart = elements.length;
+		gapEnd = buffer.length;
+	}
+
+	@Override
+	public int size() {
+		return buffer.length - (gapEnd - gapStart);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return gapStart == 0 && gapEnd == buffer.length;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index, size() - 1);
+		return (E) buffer[index < gapStart ? index : index + gapEnd - gapStart];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E element) {
+		checkIndex(index, size() - 1);
+		final int position = index < gapStart ? index : index + gapEnd - gapStart;
+		final E previous = (E) buffer[position];
+		buffer[position] = element;
+		return previous;
+	}
+
+	@Override
+	public boolean add(E e) {
+		add(size(), e);
+		return true;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, size());
+		moveGap(index, 1);
+		buffer[gapStart++] = element;
+		modCount++;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(size(), c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		checkIndex(index, size());
+		final Object[] elements = c.toArray();
+		moveGap(index, elements.length);
+		System.arraycopy(elements, 0, buffer, gapStart, elements.length);
+		gapStart += elements.length;
+		modCount++;
+		return elements.length > 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		checkIndex(index, size() - 1);
+		moveGap(index, 0);
+		final E element = (E) buffer[gapEnd];
+		buffer[gapEnd++] = null;
+		modCount++;
+		return element;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("fromIndex = " + fromIndex + ", toIndex = " + toIndex);
+		}// else
+		moveGap(fromIndex, 0);
+		final int newGapEnd = gapEnd + toIndex - fromIndex;
+		Arrays.fill(buffer, gapEnd, newGapEnd, null);
+		gapEnd = newGapEnd;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(buffer, 0, gapStart, null);
+		Arrays.fill(buffer, gapEnd, buffer.length, null);
+		gapStart = 0;
+		gapEnd = buffer.length;
+		modCount++;
+	}
+
+	@Override
+	public Object[] toArray() {
+		final Object[] array = Arrays.copyOf(buffer, size());
+		System.arraycopy(buffer, gapEnd, array, gapStart, buffer.length - gapEnd);
+		return array;
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		final int size = size();
+		final T[] array = a.length >= size ? a : Arrays.copyOf(a, size);
+		System.arraycopy(buffer, 0, array, 0, gapStart);
+		System.arraycopy(buffer, gapEnd, array, gapStart, buffer.length - gapEnd);
+		if (array.length > size) {
+			array[size] = null;
+		}
+		return array;
+	}
+
+	/**
+	 * Moves the gap to the given index, growing it to at least {@code minGap} slots.
+	 * <p>
+	 * The slots left by the moved elements are cleared, so that the gap only holds
+	 * {@code null}.
+	 */
+	private void moveGap(int index, int minGap) {
+		final int gap = gapEnd - gapStart;
+		if (gap < minGap) {
+			final int capacity = buffer.length;
+			final int size = capacity - gap;
+			final int newCapacity = Math.max(capacity + (capacity >> 1) + 1, size + minGap);
+			final Object[] newBuffer = new Object[newCapacity];
+			final int newGapEnd = newCapacity - (size - index);
+			// Copying the elements around the new position of the gap
+			if (index <= gapStart) {
+				System.arraycopy(buffer, 0, newBuffer, 0, index);
+				System.arraycopy(buffer, index, newBuffer, newGapEnd, gapStart - index);
+				System.arraycopy(buffer, gapEnd, newBuffer, newGapEnd + gapStart - index, capacity - gapEnd);
+			} else {
+				final int moved = index - gapStart;
+				System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+				System.arraycopy(buffer, gapEnd, newBuffer, gapStart, moved);
+				System.arraycopy(buffer, gapEnd + moved, newBuffer, newGapEnd, capacity - gapEnd - moved);
+			}
+			buffer = newBuffer;
+			gapStart = index;
+			gapEnd = newGapEnd;
+		} else if (index < gapStart) {
+			final int moved = gapStart - index;
+			System.arraycopy(buffer, index, buffer, index + gap, moved);
+			Arrays.fill(buffer, index, index + Math.min(moved, gap), null);
+			gapStart = index;
+			gapEnd -= moved;
+		} else if (index > gapStart) {
+			final int moved = index - gapStart;
+			System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+			Arrays.fill(buffer, Math.max(gapEnd, index), gapEnd + moved, null);
+			gapStart = index;
+			gapEnd += moved;
+		}
+	}
+
+	private static void checkIndex(int index, int max) {
+		if (index < 0 || index > max) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}
+	}
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * View of the groups of the elements of a source list sharing the same key.
+ * <p/>
+ * Each {@link Group} is itself an observable view of the elements of its key, in the order
+ * of the source. The groups are listed in the order of their creation: a group is added
+ * when the first element of its key enters the source, and removed when its last element
+ * leaves it.
+ * <p/>
+ * The elements are kept in a {@link RankTree} in the order of the source, and in one per
+ * group, in which they are inserted by a binary search on their index in the source. A
+ * change of the source therefore costs {@code O(log(n)^2)} per element.
+ *
+ * @param <K> The type of the keys.
+ * @param <E> The type of the elements.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public final class GroupedList<K, E> extends SourceView<E, GroupedList.Group<K, E>> {
+
+	/**
+	 * Observable view of the elements of a {@link GroupedList} sharing the same key.
+	 *
+	 * @param <K> The type of the key.
+	 * @param <E> The type of the elements.
+	 */
+	public static final class Group<K, E> extends ObservableListView<E> {
+
+		private final K key;
+
+		private final RankTree<Member<K, E>> members = new RankTree<Member<K, E>>();
+
+		private RankTree.Node<Group<K, E>> node;
+
+		/**
+		 * Whether a batch of this group is in progress.
+		 */
+		private boolean changing;
+
+		Group(K key) {
+			this.key = key;
+		}
+
+		/**
+		 * Returns the key shared by the elements of this group.
+		 *
+		 * @return the key of this group.
+		 */
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public E get(int index) {
+			return members.node(index).value.value;
+		}
+
+		@Override
+		public int size() {
+			return members.size();
+		}
+
+		/**
+		 * Does nothing, a group being updated by its {@link GroupedList}.
+		 */
+		@Override
+		public void dispose() {}
+
+		void fire(CollectionChange<E> change) {
+			if (!changing) {
+				changing = true;
+				beginBatch();
+			}
+			fireChange(Collections.singletonList(change));
+		}
+
+		void endChanges() {
+			if (changing) {
+				changing = false;
+				endBatch();
+			}
+		}
+	}
+
+	/**
+	 * An element of the source with its nodes in the source order and in its group.
+	 */
+	private static final class Member<K, E> {
+
+		E value;
+
+		Group<K, E> group;
+
+		RankTree.Node<Member<K, E>> inSource;
+
+		RankTree.Node<Member<K, E>> inGroup;
+
+		Member(E value) {
+			this.value = value;
+		}
+	}
+
+	private final Function<? super E, ? extends K> keyFunction;
+
+	private final RankTree<Member<K, E>> members = new RankTree<Member<K, E>>();
+
+	private final RankTree<Group<K, E>> groups = new RankTree<Group<K, E>>();
+
+	private final Map<K, Group<K, E>> groupsByKey = new HashMap<K, Group<K, E>>();
+
+	/**
+	 * Groups changed by the current notification of the source.
+	 */
+	private final List<Group<K, E>> changedGroups = new ArrayList<Group<K, E>>();
+
+	private final Comparator<Member<K, E>> sourceOrder = new Comparator<Member<K, E>>() {
+		@Override
+		public int compare(Member<K, E> m1, Member<K, E> m2) {
+			return Integer.compare(members.index(m1.inSource), members.index(m2.inSource));
+		}
+	};
+
+	GroupedList(ObservableList<E> source, Function<? super E, ? extends K> keyFunction) {
+		super(source);
+		if (keyFunction == null) {
+			throw new NullPointerException("The key function cannot be null");
+		}// else
+		this.keyFunction = keyFunction;
+		attach();
+	}
+
+	/**
+	 * Returns the group of the given key.
+	 *
+	 * @param key The key.
+	 * @return the group of the given key, {@code null} if no element of the source has this
+	 *         key.
+	 */
+	public Group<K, E> getGroup(K key) {
+		return groupsByKey.get(key);
+	}
+
+	@Override
+	public Group<K, E> get(int index) {
+		return groups.node(index).value;
+	}
+
+	@Override
+	public int size() {
+		return groups.size();
+	}
+
+	@Override
+	protected void onChange(Iterable<CollectionChange<E>> changes) {
+		beginBatch();
+		try {
+			super.onChange(changes);
+		} finally {
+			try {
+				// Notifying the changes of the groups before the groups themselves
+				for (Group<K, E> group : changedGroups) {
+					group.endChanges();
+				}
+			} finally {
+				changedGroups.clear();
+				endBatch();
+			}
+		}
+	}
+
+	@Override
+	protected void load(List<E> elements) {
+		for (E element : elements) {
+			final Member<K, E> member = new Member<K, E>(element);
+			member.inSource = members.insert(members.size(), member, false);
+			join(member, keyFunction.apply(element), false);
+		}
+	}
+
+	@Override
+	protected void unload() {
+		members.clear();
+		groups.clear();
+		groupsByKey.clear();
+	}
+
+	@Override
+	protected void reload() {
+		for (int i = 0; i < groups.size(); i++) {
+			// Emptying the old groups, which may still be referenced
+			final Group<K, E> group = groups.node(i).value;
+			final List<E> removed = new ArrayList<E>(group);
+			group.members.clear();
+			fire(group, CollectionChange.removed(0, removed));
+		}
+		super.reload();
+	}
+
+	@Override
+	protected void apply(CollectionChange<E> change) {
+		final int index = change.getIndex();
+		final List<E> values = change.getValues();
+		switch (change.getType()) {
+		case ADD:
+			for (int i = 0; i < values.size(); i++) {
+				final E value = values.get(i);
+				final Member<K, E> member = new Member<K, E>(value);
+				member.inSource = members.insert(index + i, member, false);
+				join(member, keyFunction.apply(value), true);
+			}
+			break;
+		case REMOVE:
+			for (int i = 0; i < values.size(); i++) {
+				leave(members.remove(index).value);
+			}
+			break;
+		case REPLACE:
+			for (int i = 0; i < values.size(); i++) {
+				final Member<K, E> member = members.node(index + i).value;
+				final E oldValue = member.value;
+				final E newValue = values.get(i);
+				final K key = keyFunction.apply(newValue);
+				if (key == null ? member.group.key == null : key.equals(member.group.key)) {
+					member.value = newValue;
+					fire(member.group, CollectionChange.replaced(member.group.members.index(member.inGroup),
+							Collections.singletonList(oldValue), Collections.singletonList(newValue)));
+				} else {
+					leave(member);
+					member.value = newValue;
+					join(member, key, true);
+				}
+			}
+			break;
+		case MOVE: {
+			final int fromIndex = change.getFromIndex();
+			// Moving one element at a time, so that only the moved element is misplaced in
+			// its group
+			for (int i = 0; i < values.size(); i++) {
+				if (index > fromIndex) {
+					moveMember(fromIndex, index + values.size() - 1);
+				} else {
+					moveMember(fromIndex + i, index + i);
+				}
+			}
+			break;
+		}
+		}
+	}
+
+	private void moveMember(int fromIndex, int toIndex) {
+		final RankTree.Node<Member<K, E>> node = members.remove(fromIndex);
+		members.insert(toIndex, node);
+		final Member<K, E> member = node.value;
+		final RankTree<Member<K, E>> groupMembers = member.group.members;
+		final int oldIndex = groupMembers.index(member.inGroup);
+		groupMembers.remove(oldIndex);
+		final int newIndex = groupMembers.upperBound(member, sourceOrder);
+		groupMembers.insert(newIndex, member.inGroup);
+		if (newIndex != oldIndex) {
+			fire(member.group, CollectionChange.moved(oldIndex, newIndex, Collections.singletonList(member.value)));
+		}
+	}
+
+	/**
+	 * Adds the given member, already in the source tree, to the group of the given key.
+	 */
+	private void join(Member<K, E> member, K key, boolean notify) {
+		Group<K, E> group = groupsByKey.get(key);
+		if (group == null) {
+			group = new Group<K, E>(key);
+			group.node = groups.insert(groups.size(), group, false);
+			groupsByKey.put(key, group);
+			if (notify) {
+				fire(CollectionChange.added(groups.size() - 1, Collections.singletonList(group)));
+			}
+		}
+		member.group = group;
+		final int index = group.members.upperBound(member, sourceOrder);
+		member.inGroup = group.members.insert(index, member, false);
+		if (notify) {
+			fire(group, CollectionChange.added(index, Collections.singletonList(member.value)));
+		}
+	}
+
+	/**
+	 * Removes the given member from its group, removing the group if it becomes empty.
+	 */
+	private void leave(Member<K, E> member) {
+		final Group<K, E> group = member.group;
+		final int index = group.members.index(member.inGroup);
+		group.members.remove(index);
+		fire(group, CollectionChange.removed(index, Collections.singletonList(member.value)));
+		if (group.members.size() == 0) {
+			final int groupIndex = groups.index(group.node);
+			groups.remove(groupIndex);
+			groupsByKey.remove(group.key);
+			fire(CollectionChange.removed(groupIndex, Collections.singletonList(group)));
+		}
+	}
+
+	private void fire(Group<K, E> group, CollectionChange<E> change) {
+		if (!group.changing) {
+			changedGroups.add(group);
+		}
+		group.fire(change);
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable merge sort of the indexes of an array, leaving the array untouched.
+ * <p>
+ * The sorted indexes give the permutation to apply to the array and to any array
+ * parallel to it. The elements are sorted alongside their indexes in a copy of the array,
+ * so that the comparisons read contiguous memory. The halves of the large ranges can be
+ * sorted in parallel by the common {@link ForkJoinPool}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class IndexSort {
+
+	/**
+	 * Size under which a range is sorted by insertion.
+	 */
+	private static final int INSERTION_THRESHOLD = 32;
+
+	/**
+	 * Size under which a range is not split into parallel tasks.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Returns the indexes of the first {@code size} elements of the given array, in the
+	 * order of the given comparator. Equal elements keep their relative order.
+	 *
+	 * @param elements The elements to sort.
+	 * @param size The number of elements to sort.
+	 * @param c The comparator of the elements.
+	 * @param parallel {@code true} to sort large arrays with the common
+	 *        {@link ForkJoinPool}.
+	 * @return the sorted indexes, the element at the index {@code i} of the sorted array
+	 *         being {@code elements[indexes[i]]}.
+	 */
+	static <T> int[] sort(T[] elements, int size, Comparator<? super T> c, boolean parallel) {
+		final Sorter<T> sorter = new Sorter<T>(elements, size, c);
+		if (parallel && size > PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+			ForkJoinPool.commonPool().invoke(new SortTask<T>(sorter, 0, size));
+		} else {
+			sorter.sort(0, size);
+		}
+		return sorter.indexes;
+	}
+
+	private static final class Sorter<T> {
+
+		private final Comparator<? super T> c;
+
+		private final T[] keys;
+
+		private final int[] indexes;
+
+		private final T[] keyBuffer;
+
+		private final int[] indexBuffer;
+
+		@SuppressWarnings("unchecked")
+		Sorter(T[] elements, int size, Comparator<? super T> c) {
+			this.c = c;
+			keys = Arrays.copyOf(elements, size);
+			indexes = new int[size];
+			for (int i = 0; i < size; i++) {
+				indexes[i] = i;
+			}
+			keyBuffer = (T[]) new Object[size];
+			indexBuffer = new int[size];
+		}
+
+		void sort(int from, int to) {
+			if (to - from <= INSERTION_THRESHOLD) {
+				insertionSort(from, to);
+			} else {
+				final int middle = (from + to) >>> 1;
+				sort(from, middle);
+				sort(middle, to);
+				merge(from, middle, to);
+			}
+		}
+
+		private void insertionSort(int from, int to) {
+			final T[] keys = this.keys;
+			final int[] indexes = this.indexes;
+			for (int i = from + 1; i < to; i++) {
+				final T key = keys[i];
+				final int index = indexes[i];
+				int j = i;
+				while (j > from && c.compare(keys[j - 1], key) > 0) {
+					keys[j] = keys[j - 1];
+					indexes[j] = indexes[j - 1];
+					j--;
+				}
+				keys[j] = key;
+				indexes[j] = index;
+			}
+		}
+
+		/**
+		 * Merges the sorted ranges {@code [from, middle)} and {@code [middle, to)}.
+		 */
+		void merge(int from, int middle, int to) {
+			final T[] keys = this.keys;
+			final int[] indexes = this.indexes;
+			if (c.compare(keys[middle - 1], keys[middle]) <= 0) {
+				// Already in order
+				return;
+			}// else
+			System.arraycopy(keys, from, keyBuffer, from, middle - from);
+			System.arraycopy(indexes, from, indexBuffer, from, middle - from);
+			int left = from;
+			int right = middle;
+			int out = from;
+			while (left < middle && right < to) {
+				// The left element goes first when equal, keeping the sort stable
+				if (c.compare(keys[right], keyBuffer[left]) < 0) {
+					keys[out] = keys[right];
+					indexes[out++] = indexes[right++];
+				} else {
+					keys[out] = keyBuffer[left];
+					indexes[out++] = indexBuffer[left++];
+				}
+			}
+			System.arraycopy(keyBuffer, left, keys, out, middle - left);
+			System.arraycopy(indexBuffer, left, indexes, out, middle - left);
+		}
+	}
+
+	private static final class SortTask<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 3018624917150232862L;
+
+		private final Sorter<T> sorter;
+
+		private final int from;
+
+		private final int to;
+
+		SortTask(Sorter<T> sorter, int from, int to) {
+			this.sorter = sorter;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				sorter.sort(from, to);
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new SortTask<T>(sorter, from, middle), new SortTask<T>(sorter, middle, to));
+				sorter.merge(from, middle, to);
+			}
+		}
+	}
+
+	// Suppressing the default constructor, ensuring non-instantiability.
+	private IndexSort() {}
+}
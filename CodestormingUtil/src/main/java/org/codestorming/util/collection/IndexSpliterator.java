@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over a range of indexes of a {@link java.util.RandomAccess} list of
+ * distinct elements, like an {@link OrderedSet} or one of its sub-lists, reading the
+ * elements with {@link List#get(int)}.
+ * <p>
+ * The range is split in two halves, so that a parallel traversal is evenly balanced. The
+ * end of the range is bound at the first traversal, split or size estimate.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class IndexSpliterator<E> implements Spliterator<E> {
+
+	static final int CHARACTERISTICS = ORDERED | DISTINCT | SIZED | SUBSIZED;
+
+	private final List<E> list;
+
+	private int index;
+
+	/**
+	 * End of the range (exclusive), {@code -1} until bound.
+	 */
+	private int fence;
+
+	IndexSpliterator(List<E> list) {
+		this(list, 0, -1);
+	}
+
+	private IndexSpliterator(List<E> list, int index, int fence) {
+		this.list = list;
+		this.index = index;
+		this.fence = fence;
+	}
+
+	private int getFence() {
+		if (fence < 0) {
+			fence = list.size();
+		}
+		return fence;
+	}
+
+	@Override
+	public Spliterator<E> trySplit() {
+		final int lo = index;
+		final int mid = (lo + getFence()) >>> 1;
+		if (lo >= mid) {
+			return null;
+		}// else
+		index = mid;
+		return new IndexSpliterator<E>(list, lo, mid);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}// else
+		if (index < getFence()) {
+			action.accept(list.get(index++));
+			return true;
+		}// else
+		return false;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}// else
+		final int hi = getFence();
+		int i = index;
+		index = hi;
+		for (; i < hi; i++) {
+			action.accept(list.get(i));
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		return getFence() - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+}
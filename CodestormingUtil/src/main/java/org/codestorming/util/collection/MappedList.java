@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * View of the results of a function applied to the elements of a source list, in the order
+ * of the source.
+ * <p>
+ * The results are computed once, when the elements enter the source, and kept in a
+ * {@link RankTree}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class MappedList<S, E> extends SourceView<S, E> {
+
+	private final Function<? super S, ? extends E> mapper;
+
+	private final RankTree<E> elements = new RankTree<E>();
+
+	MappedList(ObservableList<S> source, Function<? super S, ? extends E> mapper) {
+		super(source);
+		if (mapper == null) {
+			throw new NullPointerException("The function cannot be null");
+		}// else
+		this.mapper = mapper;
+		attach();
+	}
+
+	@Override
+	public E get(int index) {
+		return elements.node(index).value;
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	protected void load(List<S> elements) {
+		for (S element : elements) {
+			this.elements.insert(this.elements.size(), mapper.apply(element), false);
+		}
+	}
+
+	@Override
+	protected void unload() {
+		elements.clear();
+	}
+
+	@Override
+	protected void apply(CollectionChange<S> change) {
+		final int index = change.getIndex();
+		final List<S> values = change.getValues();
+		final List<E> results = new ArrayList<E>(values.size());
+		switch (change.getType()) {
+		case ADD:
+			for (int i = 0; i < values.size(); i++) {
+				final E result = mapper.apply(values.get(i));
+				elements.insert(index + i, result, false);
+				results.add(result);
+			}
+			fire(CollectionChange.added(index, results));
+			break;
+		case REMOVE:
+			for (int i = 0; i < values.size(); i++) {
+				results.add(elements.remove(index).value);
+			}
+			fire(CollectionChange.removed(index, results));
+			break;
+		case REPLACE: {
+			final List<E> oldResults = new ArrayList<E>(values.size());
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = elements.node(index + i);
+				oldResults.add(node.value);
+				node.value = mapper.apply(values.get(i));
+				results.add(node.value);
+			}
+			fire(CollectionChange.replaced(index, oldResults, results));
+			break;
+		}
+		case MOVE: {
+			final int fromIndex = change.getFromIndex();
+			final List<RankTree.Node<E>> moved = new ArrayList<RankTree.Node<E>>(values.size());
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = elements.remove(fromIndex);
+				moved.add(node);
+				results.add(node.value);
+			}
+			for (int i = 0; i < moved.size(); i++) {
+				elements.insert(index + i, moved.get(i));
+			}
+			fire(CollectionChange.moved(fromIndex, index, results));
+			break;
+		}
+		}
+	}
+}
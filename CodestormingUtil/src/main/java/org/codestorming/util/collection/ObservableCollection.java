@@ -25,4 +25,41 @@ public interface ObservableCollection<E> extends Collection<E> {
 	void addChangeListener(CollectionChangeListener<E> listener);
 
 	void removeChangeListener(CollectionChangeListener<E> listener);
+
+	/**
+	 * Starts a batch of changes.
+	 * <p>
+	 * Until the matching {@link #endBatch()}, the changes of this collection are accumulated
+	 * instead of being notified. A removal cancels a previous addition of an equal value made
+	 * during the batch. Batches can be nested, the changes being notified at the end of the
+	 * outermost one.
+	 *
+	 * @since 1.7
+	 */
+	void beginBatch();
+
+	/**
+	 * Ends the current batch of changes, notifying the listeners at once of the changes
+	 * accumulated if it is the outermost batch and some changes remain.
+	 *
+	 * @throws IllegalStateException if no batch has been started.
+	 * @since 1.7
+	 */
+	void endBatch();
+
+	/**
+	 * Runs the given changes in a batch, the listeners being notified of them at once.
+	 *
+	 * @param changes The changes to make on this collection.
+	 * @see #beginBatch()
+	 * @since 1.7
+	 */
+	default void batch(Runnable changes) {
+		beginBatch();
+		try {
+			changes.run();
+		} finally {
+			endBatch();
+		}
+	}
 }
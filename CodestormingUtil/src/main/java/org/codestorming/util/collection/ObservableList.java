@@ -11,7 +11,10 @@
  */
 package org.codestorming.util.collection;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * {@link ObservableCollection} of type {@link List}.
@@ -19,4 +22,86 @@ import java.util.List;
  * @author Thaedrik [thaedrik@codestorming.org]
  * @since 1.2
  */
-public interface ObservableList<E> extends ObservableCollection<E>, List<E> {}
+public interface ObservableList<E> extends ObservableCollection<E>, List<E> {
+
+	/**
+	 * Moves the element at {@code fromIndex} so that it ends up at {@code toIndex}.
+	 * <p>
+	 * The default implementation removes the element then inserts it back, notifying a
+	 * removal and an addition. Implementations able to do so notify a single
+	 * {@link CollectionChange.ChangeType#MOVE MOVE} change instead.
+	 *
+	 * @param fromIndex The index of the element to move.
+	 * @param toIndex The index of the element after the move.
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of the list.
+	 * @since 1.7
+	 */
+	default void move(int fromIndex, int toIndex) {
+		if (toIndex < 0 || toIndex >= size()) {
+			throw new IndexOutOfBoundsException("Index: " + toIndex + ", Size: " + size());
+		}// else
+		add(toIndex, remove(fromIndex));
+	}
+
+	/**
+	 * Returns a view of the elements of this list accepted by the given predicate, in the
+	 * order of this list.
+	 * <p>
+	 * The view is updated with each change of this list in {@code O(log n)} per changed
+	 * element, until it is {@link ObservableListView#dispose() disposed}.
+	 *
+	 * @param predicate The predicate accepting the elements of the view.
+	 * @return the filtered view.
+	 * @since 1.7
+	 */
+	default ObservableListView<E> filtered(Predicate<? super E> predicate) {
+		return new FilteredList<E>(this, predicate);
+	}
+
+	/**
+	 * Returns a view of the results of the given function applied to the elements of this
+	 * list, in the order of this list.
+	 * <p>
+	 * The function is applied once per element added to this list, and the view is updated
+	 * with each change of this list in {@code O(log n)} per changed element, until it is
+	 * {@link ObservableListView#dispose() disposed}.
+	 *
+	 * @param mapper The function mapping the elements of this list.
+	 * @return the mapped view.
+	 * @since 1.7
+	 */
+	default <R> ObservableListView<R> mapped(Function<? super E, ? extends R> mapper) {
+		return new MappedList<E, R>(this, mapper);
+	}
+
+	/**
+	 * Returns a view of the elements of this list sorted with the given comparator, the
+	 * equal elements being in the order of their addition to this list.
+	 * <p>
+	 * The view is updated with each change of this list in {@code O(log n)} per changed
+	 * element, until it is {@link ObservableListView#dispose() disposed}.
+	 *
+	 * @param comparator The comparator of the elements.
+	 * @return the sorted view.
+	 * @since 1.7
+	 */
+	default ObservableListView<E> sorted(Comparator<? super E> comparator) {
+		return new SortedList<E>(this, comparator);
+	}
+
+	/**
+	 * Returns a view of the groups of elements of this list having the same key for the
+	 * given function.
+	 * <p>
+	 * The view is updated with each change of this list in {@code O(log(n)^2)} per changed
+	 * element, until it is {@link ObservableListView#dispose() disposed}.
+	 *
+	 * @param keyFunction The function giving the key of each element.
+	 * @return the grouped view.
+	 * @since 1.7
+	 * @see GroupedList
+	 */
+	default <K> GroupedList<K, E> grouped(Function<? super E, ? extends K> keyFunction) {
+		return new GroupedList<K, E>(this, keyFunction);
+	}
+}
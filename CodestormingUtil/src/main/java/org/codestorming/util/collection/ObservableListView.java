@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Read-only {@link ObservableList} derived from other observable lists.
+ * <p/>
+ * A view is kept up to date by the changes notified by its sources, on the thread notifying
+ * them, and notifies its own changes with their index. As an {@code ObservableList}, a view
+ * can itself be the source of other views.
+ * <p/>
+ * A view listens to its sources until it is {@link #dispose() disposed}.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ * @see ObservableList#filtered(java.util.function.Predicate)
+ * @see ObservableList#mapped(java.util.function.Function)
+ * @see ObservableList#sorted(java.util.Comparator)
+ * @see ObservableList#grouped(java.util.function.Function)
+ */
+public abstract class ObservableListView<E> extends AbstractObservableCollection<E> implements ObservableList<E> {
+
+	private static final String READ_ONLY = "Views are read-only.";
+
+	private final List<E> readOnly = Collections.unmodifiableList(new AbstractList<E>() {
+		@Override
+		public E get(int index) {
+			return ObservableListView.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return ObservableListView.this.size();
+		}
+	});
+
+	/**
+	 * Stops updating this view from its sources.
+	 * <p/>
+	 * The views derived from this one are not disposed.
+	 */
+	public abstract void dispose();
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return readOnly.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return readOnly.containsAll(c);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return readOnly.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return readOnly.lastIndexOf(o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return readOnly.iterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return readOnly.listIterator();
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		return readOnly.listIterator(index);
+	}
+
+	@Override
+	public List<E> subList(int fromIndex, int toIndex) {
+		return readOnly.subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return readOnly.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		return readOnly.toArray(a);
+	}
+
+	@Override
+	public boolean add(E e) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public E set(int index, E element) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public E remove(int index) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void move(int fromIndex, int toIndex) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || readOnly.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return readOnly.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return readOnly.toString();
+	}
+}
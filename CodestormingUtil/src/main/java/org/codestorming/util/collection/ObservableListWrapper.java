@@ -11,16 +11,18 @@
  */
 package org.codestorming.util.collection;
 
-import org.codestorming.util.collection.CollectionChange.ChangeType;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 
 /**
  * {@link ObservableList} implementation by wrapping an existing {@link List}.
+ * <p/>
+ * The changes are notified with their index, the values added or removed together being
+ * notified in a single change.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  * @since 1.2
@@ -34,15 +36,96 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 		wrappedList = wrapped;
 	}
 
+	@Override
+	public Iterator<E> iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public boolean add(E e) {
+		final int index = wrappedList.size();
+		boolean added = wrappedList.add(e);
+		if (added) {
+			fireChange(Collections.singletonList(CollectionChange.added(index, Collections.singletonList(e))));
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		final int index = wrappedList.indexOf(o);
+		if (index < 0) {
+			return false;
+		}// else
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(wrappedList.size(), c);
+	}
+
 	@Override
 	public boolean addAll(int index, Collection<? extends E> c) {
-		boolean added = wrappedList.addAll(index, c);
+		final List<E> values = new ArrayList<E>(c);
+		boolean added = wrappedList.addAll(index, values);
 		if (added) {
-			fireChange(create(ChangeType.ADD, c));
+			fireChange(Collections.singletonList(CollectionChange.added(index, values)));
 		}
 		return added;
 	}
 
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeMatching(c, false);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeMatching(c, true);
+	}
+
+	/**
+	 * Removes the elements contained or not in the given collection, notifying each run of
+	 * consecutive removed elements in a single change.
+	 */
+	private boolean removeMatching(Collection<?> c, boolean retain) {
+		final List<CollectionChange<E>> changes = new ArrayList<CollectionChange<E>>();
+		final ListIterator<E> iter = wrappedList.listIterator();
+		List<E> run = null;
+		int runIndex = -1;
+		while (iter.hasNext()) {
+			final int index = iter.nextIndex();
+			final E v = iter.next();
+			if (c.contains(v) != retain) {
+				iter.remove();
+				// The elements following a removed one shift to its index
+				if (run != null && index == runIndex) {
+					run.add(v);
+				} else {
+					run = new ArrayList<E>();
+					run.add(v);
+					runIndex = index;
+					changes.add(CollectionChange.removed(index, run));
+				}
+			}
+		}
+		if (changes.size() > 0) {
+			fireChange(changes);
+		}
+		return changes.size() > 0;
+	}
+
+	@Override
+	public void clear() {
+		if (!wrappedList.isEmpty()) {
+			final List<E> values = new ArrayList<E>(wrappedList);
+			wrappedList.clear();
+			fireChange(Collections.singletonList(CollectionChange.removed(0, values)));
+		}
+	}
+
 	@Override
 	public E get(int index) {
 		return wrappedList.get(index);
@@ -51,30 +134,37 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 	@Override
 	public E set(int index, E element) {
 		E removed = wrappedList.set(index, element);
-		List<CollectionChange<E>> changes = new ArrayList<CollectionChange<E>>(2);
-		if (removed != null) {
-			changes.add(new CollectionChange<E>(ChangeType.REMOVE, removed));
-		}
-		changes.add(new CollectionChange<E>(ChangeType.ADD, element));
-		fireChange(changes);
+		fireChange(Collections.singletonList(CollectionChange.replaced(index, Collections.singletonList(removed),
+				Collections.singletonList(element))));
 		return removed;
 	}
 
 	@Override
 	public void add(int index, E element) {
 		wrappedList.add(index, element);
-		fireChange(Collections.singletonList(new CollectionChange<E>(ChangeType.ADD, element)));
+		fireChange(Collections.singletonList(CollectionChange.added(index, Collections.singletonList(element))));
 	}
 
 	@Override
 	public E remove(int index) {
 		E removed = wrappedList.remove(index);
-		if (removed != null) {
-			fireChange(Collections.singletonList(new CollectionChange<E>(ChangeType.REMOVE, removed)));
-		}
+		fireChange(Collections.singletonList(CollectionChange.removed(index, Collections.singletonList(removed))));
 		return removed;
 	}
 
+	@Override
+	public void move(int fromIndex, int toIndex) {
+		if (toIndex < 0 || toIndex >= wrappedList.size()) {
+			throw new IndexOutOfBoundsException("Index: " + toIndex + ", Size: " + wrappedList.size());
+		}// else
+		if (fromIndex != toIndex) {
+			E moved = wrappedList.remove(fromIndex);
+			wrappedList.add(toIndex, moved);
+			fireChange(Collections.singletonList(CollectionChange.moved(fromIndex, toIndex,
+					Collections.singletonList(moved))));
+		}
+	}
+
 	@Override
 	public int indexOf(Object o) {
 		return wrappedList.indexOf(o);
@@ -96,24 +186,25 @@ public class ObservableListWrapper<E> extends AbstractObservableCollectionWrappe
 			@Override
 			public void remove() {
 				iter.remove();
-				fireChange(Collections.singletonList(new CollectionChange<E>(ChangeType.REMOVE, last)));
+				fireChange(Collections.singletonList(CollectionChange.removed(lastIndex,
+						Collections.singletonList(last))));
+				lastIndex = -1;
 			}
 
 			@Override
 			public void set(E e) {
 				iter.set(e);
-				List<CollectionChange<E>> changes = new ArrayList<CollectionChange<E>>(2);
-				if (last != null) {
-					changes.add(new CollectionChange<E>(ChangeType.REMOVE, last));
-				}
-				changes.add(new CollectionChange<E>(ChangeType.ADD, e));
-				fireChange(changes);
+				fireChange(Collections.singletonList(CollectionChange.replaced(lastIndex,
+						Collections.singletonList(last), Collections.singletonList(e))));
+				last = e;
 			}
 
 			@Override
 			public void add(E e) {
+				final int index = iter.nextIndex();
 				iter.add(e);
-				fireChange(Collections.singletonList(new CollectionChange<E>(ChangeType.ADD, e)));
+				fireChange(Collections.singletonList(CollectionChange.added(index, Collections.singletonList(e))));
+				lastIndex = -1;
 			}
 		};
 	}
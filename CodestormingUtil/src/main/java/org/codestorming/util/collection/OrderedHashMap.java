@@ -0,0 +1,780 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Hash table implementation of the {@link OrderedMap} interface.
+ * <p>
+ * The keys and the values are stored in two parallel arrays, in the order of the entries,
+ * and an open-addressing hash table (linear probing) stores the position of each key in
+ * those arrays, like in {@link OrderedHashSet}. There is no node per entry: an entry costs
+ * two array slots, its hash and about one table slot. {@link #get(Object)},
+ * {@link #containsKey(Object)}, {@link #indexOfKey(Object)}, {@link #getKey(int)} and
+ * {@link #getValue(int)} are done in constant time, while removing an entry shifts the
+ * following ones like an {@link java.util.ArrayList}.
+ * <p>
+ * The keys can be compared with an {@link Equivalence} instead of their {@code equals()}
+ * and {@code hashCode()} methods.
+ * <p>
+ * This implementation is not synchronized and its iterators are <em>fail-fast</em>.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see OrderedHashSet
+ * @since 1.7
+ */
+public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>, Cloneable, Serializable {
+
+	private static final long serialVersionUID = -6173954624817440254L;
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Maximum load of the hash table, whatever the load factor is.
+	 */
+	private static final float MAX_TABLE_LOAD = 0.9f;
+
+	/**
+	 * Keys of the entries, in order.
+	 */
+	private transient Object[] keys;
+
+	/**
+	 * Values of the entries, at the same position as their key.
+	 */
+	private transient Object[] values;
+
+	/**
+	 * Hash of each key, at the same position as in {@link #keys}.
+	 */
+	private transient int[] hashes;
+
+	/**
+	 * Open-addressing hash table (linear probing). Each slot holds the position of a key in
+	 * {@link #keys} plus {@code 1}, {@code 0} being a free slot.
+	 * <p>
+	 * The length of the table is always a power of two.
+	 */
+	private transient int[] table;
+
+	private transient int size;
+
+	/**
+	 * Number of structural modifications, for the fail-fast iterators.
+	 */
+	private transient int modCount;
+
+	private transient Set<K> keySet;
+
+	private transient Collection<V> valueCollection;
+
+	private transient Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * The actual load factor.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * The strategy hashing and comparing the keys.
+	 */
+	private final Equivalence<? super K> equivalence;
+
+	/**
+	 * Creates an empty {@code OrderedHashMap}.
+	 */
+	public OrderedHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty {@code OrderedHashMap} with the given initial capacity.
+	 *
+	 * @param initialCapacity The number of entries the map can hold without growing.
+	 */
+	public OrderedHashMap(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Creates an empty {@code OrderedHashMap} with the given initial capacity and load
+	 * factor.
+	 *
+	 * @param initialCapacity The number of entries the map can hold without growing.
+	 * @param loadFactor The ratio used to increase the capacity when the map is full.
+	 */
+	public OrderedHashMap(int initialCapacity, float loadFactor) {
+		this(initialCapacity, loadFactor, Equivalence.equality());
+	}
+
+	/**
+	 * Creates an empty {@code OrderedHashMap} comparing its keys with the given
+	 * {@link Equivalence}.
+	 *
+	 * @param initialCapacity The number of entries the map can hold without growing.
+	 * @param equivalence The strategy hashing and comparing the keys.
+	 */
+	public OrderedHashMap(int initialCapacity, Equivalence<? super K> equivalence) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, equivalence);
+	}
+
+	/**
+	 * Creates an {@code OrderedHashMap} containing the entries of the given map, in its
+	 * iteration order.
+	 *
+	 * @param m The map whose entries are to be placed into this map.
+	 */
+	public OrderedHashMap(Map<? extends K, ? extends V> m) {
+		this(m.size());
+		putAll(m);
+	}
+
+	private OrderedHashMap(int initialCapacity, float loadFactor, Equivalence<? super K> equivalence) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}// else
+		if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}// else
+		if (equivalence == null) {
+			throw new NullPointerException("equivalence cannot be null");
+		}// else
+		this.loadFactor = loadFactor;
+		this.equivalence = equivalence;
+		init(initialCapacity);
+	}
+
+	private void init(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+		table = new int[tableSizeFor(capacity)];
+		size = 0;
+	}
+
+	/**
+	 * Returns the strategy hashing and comparing the keys of this map.
+	 *
+	 * @return the {@link Equivalence} of this map.
+	 */
+	public Equivalence<? super K> getEquivalence() {
+		return equivalence;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return probe(key, hash(key)) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		for (int i = 0; i < size; i++) {
+			final Object v = values[i];
+			if (v == value || v != null && v.equals(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int slot = probe(key, hash(key));
+		return slot >= 0 ? (V) values[table[slot] - 1] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		final int hash = hash(key);
+		final int slot = probe(key, hash);
+		if (slot >= 0) {
+			final int position = table[slot] - 1;
+			final V previous = (V) values[position];
+			values[position] = value;
+			return previous;
+		}// else
+		ensureCapacity(size + 1);
+		keys[size] = key;
+		values[size] = value;
+		hashes[size] = hash;
+		table[~slot] = size + 1;
+		modCount++;
+		if (++size > threshold()) {
+			rehash(table.length << 1);
+		}
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> m) {
+		ensureCapacity(size + m.size());
+		if (tableSizeFor(size + m.size()) > table.length) {
+			rehash(tableSizeFor(size + m.size()));
+		}
+		super.putAll(m);
+	}
+
+	@Override
+	public V remove(Object key) {
+		final int slot = probe(key, hash(key));
+		if (slot < 0) {
+			return null;
+		}// else
+		final int position = table[slot] - 1;
+		@SuppressWarnings("unchecked")
+		final V value = (V) values[position];
+		deleteSlot(slot);
+		vacate(position);
+		return value;
+	}
+
+	@Override
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(keys, 0, size, null);
+			Arrays.fill(values, 0, size, null);
+			Arrays.fill(table, 0);
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public K getKey(int index) {
+		checkIndex(index);
+		return (K) keys[index];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getValue(int index) {
+		checkIndex(index);
+		return (V) values[index];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V setValue(int index, V value) {
+		checkIndex(index);
+		final V previous = (V) values[index];
+		values[index] = value;
+		return previous;
+	}
+
+	@Override
+	public int indexOfKey(Object key) {
+		final int slot = probe(key, hash(key));
+		return slot >= 0 ? table[slot] - 1 : -1;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V removeAt(int index) {
+		checkIndex(index);
+		final V value = (V) values[index];
+		deleteSlot(slotOf(index));
+		vacate(index);
+		return value;
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if (keySet == null) {
+			keySet = new KeySet();
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if (valueCollection == null) {
+			valueCollection = new Values();
+		}
+		return valueCollection;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The entries are bound to their key: they keep reading and writing the value of their
+	 * key after the map is structurally modified. The {@code setValue} method of an entry
+	 * whose key has been removed throws an {@link IllegalStateException}.
+	 */
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			@SuppressWarnings("unchecked")
+			final OrderedHashMap<K, V> clone = (OrderedHashMap<K, V>) super.clone();
+			clone.keys = keys.clone();
+			clone.values = values.clone();
+			clone.hashes = hashes.clone();
+			clone.table = table.clone();
+			clone.modCount = 0;
+			clone.keySet = null;
+			clone.valueCollection = null;
+			clone.entrySet = null;
+			return clone;
+		} catch (CloneNotSupportedException e) {
+			// Should not happen, we are cloneable
+			throw new InternalError();
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index = " + index + ", Size = " + size);
+		}
+	}
+
+	/*
+	 * HASH TABLE
+	 */
+
+	@SuppressWarnings("unchecked")
+	private int hash(Object o) {
+		final int h = ((Equivalence<Object>) equivalence).hash(o) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean eq(Object o1, Object o2) {
+		return o1 == o2 || ((Equivalence<Object>) equivalence).equivalent(o1, o2);
+	}
+
+	private int tableSizeFor(int capacity) {
+		final int minLength = (int) Math.ceil(capacity / Math.min(loadFactor, MAX_TABLE_LOAD)) + 1;
+		int length = 16;
+		while (length < minLength && length < (1 << 30)) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	private int threshold() {
+		return (int) (table.length * Math.min(loadFactor, MAX_TABLE_LOAD));
+	}
+
+	/**
+	 * Returns the slot holding the given key or, if it is not in the table, {@code ~slot}
+	 * where {@code slot} is the free slot in which it would be inserted.
+	 */
+	private int probe(Object key, int hash) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		for (int i = hash & mask;; i = (i + 1) & mask) {
+			final int position = tab[i] - 1;
+			if (position < 0) {
+				return ~i;
+			} else if (hashes[position] == hash && eq(key, keys[position])) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the slot holding the given position.
+	 */
+	private int slotOf(int position) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		final int value = position + 1;
+		int i = hashes[position] & mask;
+		while (tab[i] != value) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Frees the given slot, moving back the following entries of the cluster so that no
+	 * probe sequence is broken.
+	 */
+	private void deleteSlot(int slot) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		int hole = slot;
+		for (int i = (hole + 1) & mask;; i = (i + 1) & mask) {
+			final int value = tab[i];
+			if (value == 0) {
+				break;
+			}// else
+			final int home = hashes[value - 1] & mask;
+			// The entry can fill the hole only if its home slot is not between the hole and i
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				tab[hole] = value;
+				hole = i;
+			}
+		}
+		tab[hole] = 0;
+	}
+
+	/**
+	 * Removes the given position from the arrays, shifting the following entries. The table
+	 * entry of the key at this position must have been deleted.
+	 */
+	private void vacate(int position) {
+		final int moved = size - position - 1;
+		if (moved > 0) {
+			shiftPositions(position + 1, size);
+			System.arraycopy(keys, position + 1, keys, position, moved);
+			System.arraycopy(values, position + 1, values, position, moved);
+			System.arraycopy(hashes, position + 1, hashes, position, moved);
+		}
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		modCount++;
+	}
+
+	/**
+	 * Decrements the positions stored in the table that are in the range {@code [from, to)}.
+	 * <p>
+	 * Must be called <strong>before</strong> moving the keys and the hashes in their arrays.
+	 */
+	private void shiftPositions(int from, int to) {
+		final int[] tab = table;
+		if (to - from > tab.length >>> 6) {
+			// Sweeping the whole table is cheaper than probing each moved key, see
+			// OrderedHashSet
+			for (int i = 0; i < tab.length; i++) {
+				final int value = tab[i];
+				tab[i] = value - (1 & ~(((value - from - 1) | (to - value)) >> 31));
+			}
+		} else {
+			for (int position = from; position < to; position++) {
+				tab[slotOf(position)]--;
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the hash table with the given length, using the stored hashes.
+	 */
+	private void rehash(int length) {
+		final int[] tab = new int[length];
+		final int mask = length - 1;
+		for (int position = 0; position < size; position++) {
+			int i = hashes[position] & mask;
+			while (tab[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			tab[i] = position + 1;
+		}
+		table = tab;
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > keys.length) {
+			int newCapacity = (int) (minCapacity * (loadFactor + 1)) + 1;
+			if (newCapacity < minCapacity) {
+				newCapacity = minCapacity;
+			}
+			keys = Arrays.copyOf(keys, newCapacity);
+			values = Arrays.copyOf(values, newCapacity);
+			hashes = Arrays.copyOf(hashes, newCapacity);
+		}
+	}
+
+	/*
+	 * SERIALIZATION
+	 */
+
+	private void writeObject(ObjectOutputStream s) throws IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			s.writeObject(keys[i]);
+			s.writeObject(values[i]);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		final int size = s.readInt();
+		init(size);
+		for (int i = 0; i < size; i++) {
+			put((K) s.readObject(), (V) s.readObject());
+		}
+	}
+
+	/*
+	 * VIEWS
+	 */
+
+	private abstract class OrderedHashIterator<T> implements Iterator<T> {
+		private int cursor;
+		private int lastReturned = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return cursor < size;
+		}
+
+		/**
+		 * Returns the index of the next entry.
+		 */
+		int nextIndex() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			} else if (cursor >= size) {
+				throw new NoSuchElementException();
+			}// else
+			return lastReturned = cursor++;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			} else if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}// else
+			removeAt(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class KeySet extends AbstractSet<K> {
+
+		@Override
+		public Iterator<K> iterator() {
+			return new OrderedHashIterator<K>() {
+				@Override
+				public K next() {
+					return getKey(nextIndex());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey(o);
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			final int index = indexOfKey(o);
+			if (index >= 0) {
+				removeAt(index);
+				return true;
+			}// else
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			OrderedHashMap.this.clear();
+		}
+	}
+
+	private final class Values extends AbstractCollection<V> {
+
+		@Override
+		public Iterator<V> iterator() {
+			return new OrderedHashIterator<V>() {
+				@Override
+				public V next() {
+					return getValue(nextIndex());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsValue(o);
+		}
+
+		@Override
+		public void clear() {
+			OrderedHashMap.this.clear();
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new OrderedHashIterator<Map.Entry<K, V>>() {
+				@Override
+				public Map.Entry<K, V> next() {
+					return new KeyEntry(nextIndex());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}// else
+			final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+			final int index = indexOfKey(entry.getKey());
+			if (index < 0) {
+				return false;
+			}// else
+			final Object value = values[index];
+			return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (contains(o)) {
+				removeAt(indexOfKey(((Map.Entry<?, ?>) o).getKey()));
+				return true;
+			}// else
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			OrderedHashMap.this.clear();
+		}
+	}
+
+	/**
+	 * Entry returned by the iterator of the {@link EntrySet}, bound to its key like the
+	 * entries of a {@link java.util.HashMap}.
+	 * <p>
+	 * The entry caches the position of its key, looked up again after any structural
+	 * modification of the map. Once the key is removed, the entry keeps the last value it
+	 * has read and cannot be written anymore.
+	 */
+	private final class KeyEntry implements Map.Entry<K, V> {
+		private final K key;
+		private V value;
+		private int index;
+		private int expectedModCount = modCount;
+
+		KeyEntry(int index) {
+			this.index = index;
+			key = OrderedHashMap.this.getKey(index);
+			value = OrderedHashMap.this.getValue(index);
+		}
+
+		/**
+		 * Returns the current position of the key, {@code -1} if it has been removed.
+		 */
+		private int position() {
+			if (modCount != expectedModCount) {
+				index = indexOfKey(key);
+				expectedModCount = modCount;
+			}
+			return index;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			final int position = position();
+			if (position >= 0) {
+				value = OrderedHashMap.this.getValue(position);
+			}
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			final int position = position();
+			if (position < 0) {
+				throw new IllegalStateException("The entry has been removed from the map.");
+			}// else
+			this.value = value;
+			return OrderedHashMap.this.setValue(position, value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}// else
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			final K key = getKey();
+			final V value = getValue();
+			return (key == null ? other.getKey() == null : key.equals(other.getKey()))
+					&& (value == null ? other.getValue() == null : value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			final K key = getKey();
+			final V value = getValue();
+			return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
@@ -16,26 +16,42 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractCollection;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.RandomAccess;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
- * This class implements the {@link OrderedSet} interface. It is backed by
- * a {@code HashSet} and uses an array to keep the insertion order.
+ * This class implements the {@link OrderedSet} interface. It uses an array to keep the
+ * insertion order and an open-addressing hash table whose slots hold the
+ * <em>position</em> of each element in that array.
+ * <p>
+ * Since the hash table gives the position of an element, {@link #contains(Object)},
+ * {@link #indexOf(Object)} and the lookup part of {@link #remove(Object)} are done in
+ * constant time. Inserting or removing an element still shifts the elements placed after
+ * it, like an {@link java.util.ArrayList}.
+ * <p>
+ * The removals can be made <em>lazy</em> with {@link #setMaxDeadRatio(float)}: a removed
+ * element then only leaves a dead slot in the array, which is skipped by the iterators.
+ * The dead slots are purged in one pass when their ratio exceeds the given one, or when an
+ * index after the first dead slot is needed. A burst of removals then costs
+ * {@code O(n)} in total instead of {@code O(n)} per removal.
  * <p>
  * The addition of an object already present in the set does nothing, that is, the index
  * at which the object was first inserted does not change.
  * <p>
- * The {@link #subList(int, int)} method and the {@link ListIterator}'s methods
- * <em>set</em> and <em>add</em> are <strong>not supported</strong> <TODO : implements
- * these methods>.
+ * The {@link #subList(int, int)} method returns read-only views. The
+ * {@link ListIterator}'s methods <em>set</em> and <em>add</em> are
+ * <strong>not supported</strong> <TODO : implements these methods>.
  * 
  * @author Thaedrik [thaedrik@codestorming.org]
  */
@@ -56,27 +72,90 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
 	/**
-	 * Internal {@code HashSet}.
+	 * Maximum load of the hash table, whatever the load factor is.
+	 * <p>
+	 * Linear probing degrades quickly when the table is almost full.
+	 */
+	private static final float MAX_TABLE_LOAD = 0.9f;
+
+	/**
+	 * Marker of the dead slots left in {@link #elements} by the lazy removals.
 	 */
-	private transient Set<E> internalSet;
+	private static final Object TOMBSTONE = new Object();
 
 	/**
 	 * Internal sequential collection of the elements put in the set
 	 */
 	private transient E[] elements;
 
+	/**
+	 * Hash of each element, at the same position as in {@link #elements}.
+	 * <p>
+	 * Used to compare hashes before calling {@code equals()} and to move the table entries
+	 * without calling {@code hashCode()} again.
+	 */
+	private transient int[] hashes;
+
+	/**
+	 * Open-addressing hash table (linear probing). Each slot holds the position of an
+	 * element in {@link #elements} plus {@code 1}, {@code 0} being a free slot.
+	 * <p>
+	 * The length of the table is always a power of two.
+	 */
+	private transient int[] table;
+
+	/**
+	 * The number of elements in this set.
+	 */
+	private transient int size;
+
+	/**
+	 * The number of used slots in {@link #elements}, dead slots included.
+	 */
+	private transient int end;
+
+	/**
+	 * The number of dead slots in {@link #elements}.
+	 */
+	private transient int dead;
+
+	/**
+	 * The position of the first dead slot, only meaningful when {@link #dead} is not
+	 * {@code 0}.
+	 * <p>
+	 * The elements before this position are at their index.
+	 */
+	private transient int firstDead;
+
+	/**
+	 * The number of structural modifications, that is the ones changing the size or the
+	 * order of this set, used by the {@link #subList(int, int) sub-list views} to detect
+	 * the concurrent modifications.
+	 */
+	private transient int modCount;
+
 	/**
 	 * The actual load factor.
 	 */
 	private float loadFactor = DEFAULT_LOAD_FACTOR;
 
+	/**
+	 * The ratio of dead slots over used slots above which the dead slots are purged.
+	 * <p>
+	 * {@code 0} means the removals are not lazy.
+	 */
+	private float maxDeadRatio;
+
+	/**
+	 * The strategy hashing and comparing the elements.
+	 */
+	private Equivalence<? super E> equivalence = Equivalence.equality();
+
 	/**
 	 * Creates a new {@code OrderedHashSet}.
 	 */
-	@SuppressWarnings("unchecked")
 	public OrderedHashSet() {
-		internalSet = new HashSet<E>(DEFAULT_CAPACITY);
-		elements = (E[]) new Object[DEFAULT_CAPACITY];
+		init(DEFAULT_CAPACITY);
 	}
 
 	/**
@@ -84,11 +163,8 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	 * 
 	 * @param c
 	 */
-	@SuppressWarnings("unchecked")
 	public OrderedHashSet(Collection<? extends E> c) {
-		int initialCapacity = Math.max((int) (c.size() / loadFactor) + 1, DEFAULT_CAPACITY);
-		internalSet = new HashSet<E>(initialCapacity);
-		elements = (E[]) new Object[initialCapacity];
+		init(Math.max((int) (c.size() / loadFactor) + 1, DEFAULT_CAPACITY));
 		addAll(c);
 	}
 
@@ -98,11 +174,15 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	 * @param initialCapacity
 	 * @param loadFactor
 	 */
-	@SuppressWarnings("unchecked")
 	public OrderedHashSet(int initialCapacity, float loadFactor) {
-		internalSet = new HashSet<E>(initialCapacity, loadFactor);
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}// else
+		if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}// else
 		this.loadFactor = loadFactor;
-		elements = (E[]) new Object[initialCapacity];
+		init(initialCapacity);
 	}
 
 	/**
@@ -110,110 +190,206 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	 * 
 	 * @param initialCapacity
 	 */
-	@SuppressWarnings("unchecked")
 	public OrderedHashSet(int initialCapacity) {
-		internalSet = new HashSet<E>(initialCapacity);
-		elements = (E[]) new Object[initialCapacity];
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Creates a new {@code OrderedHashSet} comparing its elements with the given
+	 * {@link Equivalence} instead of their {@code equals()} and {@code hashCode()} methods.
+	 * <p>
+	 * {@link #equals(Object)} and {@link #hashCode()} still follow the {@link List}
+	 * contract.
+	 * 
+	 * @param initialCapacity
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @since 1.7
+	 */
+	public OrderedHashSet(int initialCapacity, Equivalence<? super E> equivalence) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+		if (equivalence == null) {
+			throw new NullPointerException("equivalence cannot be null");
+		}// else
+		this.equivalence = equivalence;
+	}
+
+	/**
+	 * Creates a new {@code OrderedHashSet} comparing its elements with the given
+	 * {@link Equivalence}.
+	 * 
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @see #OrderedHashSet(int, Equivalence)
+	 * @since 1.7
+	 */
+	public OrderedHashSet(Equivalence<? super E> equivalence) {
+		this(DEFAULT_CAPACITY, equivalence);
+	}
+
+	/**
+	 * Returns the strategy hashing and comparing the elements of this set.
+	 * 
+	 * @return the {@link Equivalence} of this set.
+	 * @since 1.7
+	 */
+	public Equivalence<? super E> getEquivalence() {
+		return equivalence;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void init(int capacity) {
+		elements = (E[]) new Object[capacity];
+		hashes = new int[capacity];
+		table = new int[tableSizeFor(capacity)];
+		size = 0;
+		end = 0;
+		dead = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns the ratio of dead slots over used slots above which the dead slots left by
+	 * the lazy removals are purged.
+	 *
+	 * @return the maximum ratio of dead slots, {@code 0} if the removals are not lazy.
+	 * @see #setMaxDeadRatio(float)
+	 * @since 1.7
+	 */
+	public float getMaxDeadRatio() {
+		return maxDeadRatio;
+	}
+
+	/**
+	 * Sets the ratio of dead slots over used slots above which the dead slots left by the
+	 * lazy removals are purged.
+	 * <p>
+	 * With a ratio greater than {@code 0}, removing an element only marks its slot as
+	 * dead instead of shifting all the following elements. The dead slots are skipped by
+	 * the iterators and are purged in one pass when their ratio exceeds the given one, or
+	 * before accessing an index placed after the first dead slot.
+	 * <p>
+	 * Setting the ratio to {@code 0} purges the dead slots and makes the next removals
+	 * eager again.
+	 *
+	 * @param maxDeadRatio The maximum ratio of dead slots, between {@code 0} (included) and
+	 *        {@code 1} (excluded).
+	 * @throws IllegalArgumentException if {@code maxDeadRatio} is not between {@code 0}
+	 *         (included) and {@code 1} (excluded).
+	 * @since 1.7
+	 */
+	public void setMaxDeadRatio(float maxDeadRatio) {
+		if (!(maxDeadRatio >= 0 && maxDeadRatio < 1)) {
+			throw new IllegalArgumentException("Illegal dead ratio: " + maxDeadRatio);
+		}// else
+		this.maxDeadRatio = maxDeadRatio;
+		if (maxDeadRatio == 0) {
+			purge();
+		}
 	}
 
 	@Override
 	public boolean add(E e) {
-		ensureCapacity(size() + 1);
-		return internalAdd(size(), e);
+		return internalAdd(size, e);
 	}
 
 	@Override
 	public boolean addAll(Collection<? extends E> c) {
-		return addAll(size(), c);
+		return addAll(size, c);
 	}
 
 	@Override
 	public boolean remove(Object o) {
-		final int index = indexOf(o);
-		if (internalRemove(index, o)) {
+		final int position = positionOf(o);
+		if (position >= 0) {
+			removeAt(position);
 			compaction();
 			return true;
 		}// else
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The removed elements are first marked as dead, looking up the elements of the given
+	 * collection in the table or the elements of this set in the given collection
+	 * (whichever is smaller), then all the dead slots are purged in one pass. The removal
+	 * of many elements then costs {@code O(n + m)}.
+	 */
 	@Override
 	public boolean removeAll(Collection<?> c) {
-		boolean modified = false;
-		if (size() > c.size()) {
-			for (Iterator<?> i = c.iterator(); i.hasNext();) {
-				final Object o = i.next();
-				final int index = indexOf(o);
-				modified |= internalRemove(index, o);
-			}
-		} else {
-			for (Iterator<E> i = iterator(); i.hasNext();) {
-				if (c.contains(i.next())) {
-					i.remove();
-					modified = true;
+		final int oldSize = size;
+		try {
+			if (size > c.size()) {
+				for (Object o : c) {
+					final int position = positionOf(o);
+					if (position >= 0) {
+						kill(position);
+					}
+				}
+			} else {
+				for (int position = 0; position < end; position++) {
+					final E e = elements[position];
+					if (e != TOMBSTONE && c.contains(e)) {
+						kill(position);
+					}
 				}
 			}
+		} finally {
+			sweep();
 		}
-		if (modified) {
-			compaction();
-		}
-		return modified;
-	}
-
-	private boolean internalRemove(int index, Object o) {
-		if (index >= 0 && internalSet.remove(o)) {
-			internalListRemove(index);
-			return true;
-		}// else
-		return false;
-	}
-
-	private void internalListRemove(int index) {
-		if (index < elements.length - 1) {
-			System.arraycopy(elements, index + 1, elements, index, elements.length - (index + 1));
-		} else {
-			elements[index] = null;
-		}
+		return size != oldSize;
 	}
 
 	@Override
 	public int size() {
-		return internalSet.size();
+		return size;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return internalSet.isEmpty();
+		return size == 0;
 	}
 
 	@Override
 	public boolean contains(Object o) {
-		return internalSet.contains(o);
+		return positionOf(o) >= 0;
 	}
 
 	@Override
 	public boolean containsAll(Collection<?> c) {
-		return internalSet.containsAll(c);
+		for (Object o : c) {
+			if (positionOf(o) < 0) {
+				return false;
+			}
+		}
+		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The removed elements are first marked as dead, then all the dead slots are purged in
+	 * one pass.
+	 */
 	@Override
 	public boolean retainAll(Collection<?> c) {
-		boolean modified = false;
-		Iterator<E> e = iterator();
-		while (e.hasNext()) {
-			if (!c.contains(e.next())) {
-				e.remove();
-				modified = true;
+		final int oldSize = size;
+		try {
+			for (int position = 0; position < end; position++) {
+				final E e = elements[position];
+				if (e != TOMBSTONE && !c.contains(e)) {
+					kill(position);
+				}
 			}
+		} finally {
+			sweep();
 		}
-		return modified;
+		return size != oldSize;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void clear() {
-		internalSet.clear();
-		elements = (E[]) new Object[DEFAULT_CAPACITY];
+		init(DEFAULT_CAPACITY);
 	}
 
 	@Override
@@ -223,8 +399,16 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 
 	@Override
 	public Object[] toArray() {
-		final Object[] array = new Object[size()];
-		System.arraycopy(elements, 0, array, 0, size());
+		final Object[] array = new Object[size];
+		if (dead == 0) {
+			System.arraycopy(elements, 0, array, 0, size);
+		} else {
+			for (int position = 0, i = 0; i < size; position++) {
+				if (elements[position] != TOMBSTONE) {
+					array[i++] = elements[position];
+				}
+			}
+		}
 		return array;
 	}
 
@@ -291,8 +475,9 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	public Object clone() {
 		try {
 			OrderedHashSet<E> clone = (OrderedHashSet<E>) super.clone();
-			clone.elements = Arrays.copyOf(elements, size());
-			clone.internalSet = (HashSet<E>) ((HashSet<E>) internalSet).clone();
+			clone.elements = elements.clone();
+			clone.hashes = hashes.clone();
+			clone.table = table.clone();
 			return clone;
 		} catch (CloneNotSupportedException ignore) {
 			// Should not happen, we are cloneable
@@ -332,7 +517,7 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	public int hashCode() {
 		int hashcode = 0;
 		for (E elt : this) {
-			hashcode = 31 * hashcode + elt.hashCode();
+			hashcode = 31 * hashcode + (elt == null ? 0 : elt.hashCode());
 		}
 		return hashcode;
 	}
@@ -341,41 +526,91 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	 * LIST METHODS
 	 */
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The new elements are appended at the end of the set, then moved at the given index in
+	 * one pass, so that the elements after the index are shifted only once.
+	 */
 	@Override
 	public boolean addAll(int index, Collection<? extends E> c) {
-		if (index < 0 || index > size()) {
+		if (index < 0 || index > size) {
 			throw new IndexOutOfBoundsException();
 		}// else
-		ensureCapacity(size() + c.size());
-		boolean modified = false;
-		final Iterator<? extends E> i = c.iterator();
-		int insertionIndex = index;
-		while (i.hasNext()) {
-			if (internalAdd(insertionIndex, i.next())) {
-				modified = true;
-				insertionIndex++;
-			}
+		final int insertion;
+		if (index < size) {
+			// The rotation expects the elements at their index
+			purge();
+			insertion = index;
+		} else {
+			insertion = end;
 		}
-		return modified;
+		final int oldEnd = end;
+		ensureCapacity(end + c.size());
+		for (E e : c) {
+			internalAdd(size, e);
+		}
+		if (insertion < oldEnd && end > oldEnd) {
+			rotate(insertion, oldEnd, end);
+		}
+		return end > oldEnd;
 	}
 
 	private boolean internalAdd(int index, E e) {
-		if (internalSet.add(e)) {
-			if (index < size() - 1) {
-				System.arraycopy(elements, index, elements, index + 1, size() - index);
-			}
-			elements[index] = e;
-			return true;
+		final int hash = hash(e);
+		final int slot = probe(e, hash);
+		if (slot >= 0) {
+			return false;
 		}// else
-		return false;
+		int freeSlot = ~slot;
+		if (dead > 0 && (index < size || end == elements.length)) {
+			// The tail is shifted or the array is full, purging the dead slots does not cost
+			// much more
+			purge();
+			freeSlot = freeSlot(hash);
+		}
+		final int position = index < size ? index : end;
+		ensureCapacity(end + 1);
+		if (position < end) {
+			shiftPositions(position, end, 1);
+			System.arraycopy(elements, position, elements, position + 1, end - position);
+			System.arraycopy(hashes, position, hashes, position + 1, end - position);
+		}
+		elements[position] = e;
+		hashes[position] = hash;
+		table[freeSlot] = position + 1;
+		end++;
+		modCount++;
+		if (++size > threshold()) {
+			rehash(table.length << 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Appends the given element, known to be absent from this set, without looking for it
+	 * in the table.
+	 * <p>
+	 * Used by the bulk loading of trusted inputs, the dead slots must have been purged.
+	 */
+	void appendAbsent(E e) {
+		final int hash = hash(e);
+		ensureCapacity(end + 1);
+		elements[end] = e;
+		hashes[end] = hash;
+		table[freeSlot(hash)] = ++end;
+		modCount++;
+		if (++size > threshold()) {
+			rehash(table.length << 1);
+		}
 	}
 
 	@Override
 	public E get(int index) {
-		if (index < 0 || index >= size()) {
+		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}// else
-		return elements[index];
+		return elements[position(index)];
 	}
 
 	/**
@@ -383,64 +618,63 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	 * <p>
 	 * If the given {@code element} already exists in this set, it will be
 	 * <strong>moved</strong> to the given index and the element at this index will be
-	 * <strong>removed</strong>.
+	 * <strong>removed</strong>. As the set loses one element, the moved element ends up
+	 * at {@code index - 1} if it was placed before {@code index}.
 	 */
 	@Override
 	public E set(int index, E element) {
-		if (index < 0 || index >= size()) {
+		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}// else
-		final int elementIndex = indexOf(element);
+		index = position(index);
+		final E previousElement = elements[index];
+		final int hash = hash(element);
+		final int slot = probe(element, hash);
+		if (slot >= 0 && table[slot] - 1 == index) {
+			// Replacing an element by an equal one
+			elements[index] = element;
+			return previousElement;
+		}// else
+		final int elementIndex = slot >= 0 ? table[slot] - 1 : -1;
+		deleteSlot(slotOf(index));
+		elements[index] = element;
+		hashes[index] = hash;
 		if (elementIndex >= 0) {
-			internalListRemove(elementIndex);
+			table[slotOf(elementIndex)] = index + 1;
+			vacate(elementIndex);
 		} else {
-			internalSet.add(element);
+			table[freeSlot(hash)] = index + 1;
 		}
-		final E previousElement = elements[index];
-		internalSet.remove(previousElement);
-		elements[index] = element;
 		return previousElement;
 	}
 
 	@Override
 	public void add(int index, E element) {
-		if (index < 0 || index > size()) {
+		if (index < 0 || index > size) {
 			throw new IndexOutOfBoundsException();
 		}// else
-		ensureCapacity(size() + 1);
 		internalAdd(index, element);
 	}
 
 	@Override
 	public E remove(int index) {
-		if (index < 0 || index >= size()) {
+		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}// else
-		final E element = elements[index];
-		if (internalSet.remove(element)) {
-			internalListRemove(index);
-		}
+		final int position = position(index);
+		final E element = elements[position];
+		removeAt(position);
 		return element;
 	}
 
 	@Override
 	public int indexOf(Object o) {
-		final E[] elts = elements;
-		final int size = size();
-		if (o == null) {
-			for (int i = 0; i < size; i++) {
-				if (elts[i] == null) {
-					return i;
-				}
-			}
-		} else {
-			for (int i = 0; i < size; i++) {
-				if (o.equals(elts[i])) {
-					return i;
-				}
-			}
-		}
-		return -1;
+		final int position = positionOf(o);
+		if (dead > 0 && position > firstDead) {
+			purge();
+			return positionOf(o);
+		}// else
+		return position;
 	}
 
 	@Override
@@ -449,6 +683,94 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 		return indexOf(o);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The sort is stable and permutes the elements in place: the entries of the hash table
+	 * are updated with the new positions, no element is hashed again. If the comparator
+	 * throws an exception, this set is left unchanged.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	public void sort(Comparator<? super E> c) {
+		sort(c, false);
+	}
+
+	/**
+	 * Sorts this set like {@link #sort(Comparator)}, the large sets being sorted in
+	 * parallel by the common {@link java.util.concurrent.ForkJoinPool}.
+	 *
+	 * @param c The comparator of the elements, {@code null} for their natural order.
+	 * @since 1.7
+	 */
+	public void parallelSort(Comparator<? super E> c) {
+		sort(c, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void sort(Comparator<? super E> c, boolean parallel) {
+		purge();
+		final Comparator<? super E> comparator = c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+		final int[] order = IndexSort.sort(elements, size, comparator, parallel);
+		final int[] tab = table;
+		final int[] slots = new int[size];
+		for (int i = 0; i < tab.length; i++) {
+			if (tab[i] != 0) {
+				slots[tab[i] - 1] = i;
+			}
+		}
+		for (int position = 0; position < size; position++) {
+			tab[slots[order[position]]] = position + 1;
+		}
+		// Applying the permutation cycle by cycle, the visited positions being complemented
+		for (int start = 0; start < size; start++) {
+			if (order[start] < 0) {
+				continue;
+			}// else
+			final E e = elements[start];
+			final int hash = hashes[start];
+			int position = start;
+			int next;
+			while ((next = order[position]) != start) {
+				elements[position] = elements[next];
+				hashes[position] = hashes[next];
+				order[position] = ~next;
+				position = next;
+			}
+			elements[position] = e;
+			hashes[position] = hash;
+			order[position] = ~start;
+		}
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The results are kept in the order of the replaced elements, a result equal to a
+	 * previous one being dropped as when adding them to an empty set. If the operator throws
+	 * an exception, this set is left unchanged.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<E> operator) {
+		if (operator == null) {
+			throw new NullPointerException();
+		}// else
+		@SuppressWarnings("unchecked")
+		final E[] results = (E[]) new Object[size];
+		int i = 0;
+		for (E e : this) {
+			results[i++] = operator.apply(e);
+		}
+		clear();
+		for (E result : results) {
+			add(result);
+		}
+	}
+
 	@Override
 	public ListIterator<E> listIterator() {
 		return listIterator(0);
@@ -456,12 +778,331 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 
 	@Override
 	public ListIterator<E> listIterator(final int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}// else
 		return new OrderedSetIterator<E>(this, index);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The returned list is a <em>read-only</em> view of the given range of this set: it
+	 * copies nothing and reads the array of the elements. {@link List#contains(Object)}
+	 * and {@link List#indexOf(Object)} look the object up in the hash table, then check
+	 * that its index is in the range. Any structural modification of this set, that is
+	 * one changing its size or its order, makes the view throw a
+	 * {@link ConcurrentModificationException}.
+	 */
 	@Override
 	public List<E> subList(int fromIndex, int toIndex) {
-		throw new UnsupportedOperationException();
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("fromIndex = " + fromIndex + ", toIndex = " + toIndex);
+		}// else
+		return new SubList(fromIndex, toIndex);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The spliterator reads the array of the elements directly, splitting its range of
+	 * indexes in two halves. The dead slots are purged when the range is bound, that is at
+	 * the first traversal, split or size estimate. Like the iterators, it does not detect
+	 * the concurrent modifications.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new OrderedSetSpliterator<E>(this, 0, -1);
+	}
+
+	/*
+	 * HASH TABLE
+	 */
+
+	/**
+	 * Returns the position in {@link #elements} of the given valid index, purging the dead
+	 * slots if needed.
+	 */
+	private int position(int index) {
+		if (dead > 0 && index >= firstDead) {
+			purge();
+		}
+		return index;
+	}
+
+	/**
+	 * Spreads the hash of the given object so that the low bits used to index the table
+	 * depend on all its bits.
+	 */
+	@SuppressWarnings("unchecked")
+	private int hash(Object o) {
+		final int h = ((Equivalence<Object>) equivalence).hash(o) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean eq(Object o1, Object o2) {
+		return o1 == o2 || ((Equivalence<Object>) equivalence).equivalent(o1, o2);
+	}
+
+	/**
+	 * Returns the smallest power of two table length able to hold the given number of
+	 * elements.
+	 */
+	private int tableSizeFor(int capacity) {
+		final int minLength = (int) Math.ceil(capacity / Math.min(loadFactor, MAX_TABLE_LOAD)) + 1;
+		int length = 16;
+		while (length < minLength && length < (1 << 30)) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	private int threshold() {
+		return (int) (table.length * Math.min(loadFactor, MAX_TABLE_LOAD));
+	}
+
+	/**
+	 * Returns the slot holding the given object or, if it is not in the table,
+	 * {@code ~slot} where {@code slot} is the free slot in which it would be inserted.
+	 * <p>
+	 * The entries left pointing to dead slots during a bulk removal never match.
+	 */
+	private int probe(Object o, int hash) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		for (int i = hash & mask;; i = (i + 1) & mask) {
+			final int position = tab[i] - 1;
+			if (position < 0) {
+				return ~i;
+			} else if (hashes[position] == hash && elements[position] != TOMBSTONE && eq(o, elements[position])) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the position of the given object in {@link #elements} or {@code -1}.
+	 */
+	private int positionOf(Object o) {
+		final int slot = probe(o, hash(o));
+		return slot >= 0 ? table[slot] - 1 : -1;
+	}
+
+	/**
+	 * Returns the slot holding the given position.
+	 */
+	private int slotOf(int position) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		final int value = position + 1;
+		int i = hashes[position] & mask;
+		while (tab[i] != value) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the first free slot of the probe sequence of the given hash.
+	 */
+	private int freeSlot(int hash) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		int i = hash & mask;
+		while (tab[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Frees the given slot, moving back the following entries of the cluster so that no
+	 * probe sequence is broken.
+	 */
+	private void deleteSlot(int slot) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		int hole = slot;
+		for (int i = (hole + 1) & mask;; i = (i + 1) & mask) {
+			final int value = tab[i];
+			if (value == 0) {
+				break;
+			}// else
+			final int home = hashes[value - 1] & mask;
+			// The entry can fill the hole only if its home slot is not between the hole and i
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				tab[hole] = value;
+				hole = i;
+			}
+		}
+		tab[hole] = 0;
+	}
+
+	/**
+	 * Adds {@code delta} to the positions stored in the table that are in the range
+	 * {@code [from, to)}.
+	 * <p>
+	 * Must be called <strong>before</strong> moving the elements and the hashes in their
+	 * arrays.
+	 */
+	private void shiftPositions(int from, int to, int delta) {
+		final int[] tab = table;
+		if (to - from > tab.length >>> 6) {
+			// Sweeping the whole table is cheaper than probing each moved element.
+			// The sign bit of (value - from - 1) | (to - value) is set when the value is
+			// out of range, which avoids an unpredictable branch per slot.
+			for (int i = 0; i < tab.length; i++) {
+				final int value = tab[i];
+				tab[i] = value + (delta & ~(((value - from - 1) | (to - value)) >> 31));
+			}
+		} else if (delta > 0) {
+			for (int position = to - 1; position >= from; position--) {
+				tab[slotOf(position)] += delta;
+			}
+		} else {
+			for (int position = from; position < to; position++) {
+				tab[slotOf(position)] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the hash table with the given length, using the stored hashes.
+	 */
+	private void rehash(int length) {
+		final int[] tab;
+		if (length == table.length) {
+			tab = table;
+			Arrays.fill(tab, 0);
+		} else {
+			tab = new int[length];
+		}
+		final int mask = length - 1;
+		for (int position = 0; position < end; position++) {
+			if (elements[position] == TOMBSTONE) {
+				continue;
+			}// else
+			int i = hashes[position] & mask;
+			while (tab[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			tab[i] = position + 1;
+		}
+		table = tab;
+	}
+
+	/**
+	 * Removes the element at the given position from the table and from the arrays.
+	 */
+	private void removeAt(int position) {
+		deleteSlot(slotOf(position));
+		vacate(position);
+	}
+
+	/**
+	 * Removes the given position from the arrays, the table entry of the element at this
+	 * position must have been deleted.
+	 * <p>
+	 * If the removals are lazy, the position is only marked as dead.
+	 */
+	private void vacate(int position) {
+		size--;
+		modCount++;
+		if (position == end - 1) {
+			elements[--end] = null;
+			// Trimming the dead slots that are now at the end
+			while (dead > 0 && elements[end - 1] == TOMBSTONE) {
+				elements[--end] = null;
+				dead--;
+			}
+		} else if (maxDeadRatio > 0) {
+			((Object[]) elements)[position] = TOMBSTONE;
+			if (dead++ == 0 || position < firstDead) {
+				firstDead = position;
+			}
+			if (dead > maxDeadRatio * end) {
+				purge();
+			}
+		} else {
+			final int moved = end - position - 1;
+			shiftPositions(position + 1, end, -1);
+			System.arraycopy(elements, position + 1, elements, position, moved);
+			System.arraycopy(hashes, position + 1, hashes, position, moved);
+			elements[--end] = null;
+		}
+	}
+
+	/**
+	 * Marks the element at the given position as dead, leaving its entry in the table.
+	 * <p>
+	 * The entry only points to a dead slot, which no lookup can match, but {@link #sweep()}
+	 * must be called before any other modification.
+	 */
+	private void kill(int position) {
+		((Object[]) elements)[position] = TOMBSTONE;
+		if (dead++ == 0 || position < firstDead) {
+			firstDead = position;
+		}
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * Purges the dead slots left by {@link #kill(int)}, rebuilding the table, and shrinks
+	 * the arrays if needed.
+	 */
+	private void sweep() {
+		if (dead > 0) {
+			purge();
+			compaction();
+		}
+	}
+
+	/**
+	 * Moves the elements in {@code [middle, to)} before the ones in {@code [from, middle)}.
+	 */
+	private void rotate(int from, int middle, int to) {
+		final int count = to - middle;
+		// Locating the entries of the moved block before the shift makes their positions
+		// ambiguous
+		final int[] slots = new int[count];
+		for (int i = 0; i < count; i++) {
+			slots[i] = slotOf(middle + i);
+		}
+		shiftPositions(from, middle, count);
+		for (int i = 0; i < count; i++) {
+			table[slots[i]] = from + i + 1;
+		}
+		final Object[] block = Arrays.copyOfRange(elements, middle, to);
+		final int[] blockHashes = Arrays.copyOfRange(hashes, middle, to);
+		System.arraycopy(elements, from, elements, from + count, middle - from);
+		System.arraycopy(hashes, from, hashes, from + count, middle - from);
+		System.arraycopy(block, 0, elements, from, count);
+		System.arraycopy(blockHashes, 0, hashes, from, count);
+	}
+
+	/**
+	 * Removes all the dead slots in one pass.
+	 */
+	private void purge() {
+		if (dead == 0) {
+			return;
+		}// else
+		final E[] elts = elements;
+		int w = firstDead;
+		for (int r = firstDead + 1; r < end; r++) {
+			if (elts[r] != TOMBSTONE) {
+				elts[w] = elts[r];
+				hashes[w++] = hashes[r];
+			}
+		}
+		Arrays.fill(elts, w, end, null);
+		end = w;
+		dead = 0;
+		rehash(table.length);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -474,18 +1115,20 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 				newCapacity = minCapacity;
 			}
 			final E[] newArray = (E[]) new Object[newCapacity];
-			System.arraycopy(elements, 0, newArray, 0, size());
+			System.arraycopy(elements, 0, newArray, 0, end);
 			elements = newArray;
+			hashes = Arrays.copyOf(hashes, newCapacity);
 		}
 	}
 
 	@SuppressWarnings("unchecked")
 	private void compaction() {
 		final int newSize = elements.length / 2;
-		if (size() < newSize) {
+		if (end < newSize) {
 			final E[] newArray = (E[]) new Object[newSize];
-			System.arraycopy(elements, 0, newArray, 0, size());
+			System.arraycopy(elements, 0, newArray, 0, end);
 			elements = newArray;
+			hashes = Arrays.copyOf(hashes, newSize);
 		}
 	}
 
@@ -494,18 +1137,21 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 		s.defaultWriteObject();
 		s.writeInt(elements.length);
 		s.writeInt(size);
-		for (int i = 0; i < size; i++) {
-			s.writeObject(get(i));
+		for (E e : this) {
+			s.writeObject(e);
 		}
 	}
 
 	@SuppressWarnings("unchecked")
 	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
 		s.defaultReadObject();
+		if (equivalence == null) {
+			// Serialized before the equivalences
+			equivalence = Equivalence.equality();
+		}
 		int length = s.readInt();
 		int size = s.readInt();
-		elements = (E[]) new Object[length];
-		internalSet = new HashSet<E>(size, loadFactor);
+		init(Math.max(length, size));
 		for (int i = 0; i < size; i++) {
 			add((E) s.readObject());
 		}
@@ -514,6 +1160,8 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 	static class OrderedSetIterator<T> implements ListIterator<T> {
 		private final OrderedHashSet<T> orderedHashSet;
 		private int currentIndex;
+		// Position in the elements array of the next element, dead slots included
+		private int currentPosition;
 		private int lastReturned = -1;
 		// Flag indicating the last returned element has been removed
 		private boolean removed;
@@ -524,11 +1172,12 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 		OrderedSetIterator(OrderedHashSet<T> orderedHashSet, int index) {
 			this.orderedHashSet = orderedHashSet;
 			currentIndex = index;
+			currentPosition = index == orderedHashSet.size ? orderedHashSet.end : orderedHashSet.position(index);
 		}
 
 		@Override
 		public boolean hasNext() {
-			return currentIndex < orderedHashSet.size();
+			return currentIndex < orderedHashSet.size;
 		}
 
 		@Override
@@ -537,8 +1186,15 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 				throw new NoSuchElementException();
 			}// else
 			removed = false;// Cleaning removed flag
-			lastReturned = currentIndex;
-			return orderedHashSet.elements[currentIndex++];
+			final Object[] elements = orderedHashSet.elements;
+			int position = currentPosition;
+			while (elements[position] == TOMBSTONE) {
+				position++;
+			}
+			lastReturned = position;
+			currentPosition = position + 1;
+			currentIndex++;
+			return orderedHashSet.elements[position];
 		}
 
 		@Override
@@ -548,11 +1204,17 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 			} else if (removed) {
 				throw new IllegalStateException("The current element has already been removed.");
 			}// else
-			if (orderedHashSet.internalRemove(lastReturned, orderedHashSet.elements[lastReturned])) {
-				removed = true;
-				if (lastReturned < currentIndex) {
-					currentIndex--;
-				}
+			orderedHashSet.removeAt(lastReturned);
+			removed = true;
+			if (lastReturned < currentPosition) {
+				currentIndex--;
+			}
+			if (orderedHashSet.dead == 0) {
+				// The elements have been shifted or purged, they are at their index
+				currentPosition = currentIndex;
+			} else if (currentPosition > orderedHashSet.end) {
+				// The dead slots at the end have been trimmed
+				currentPosition = orderedHashSet.end;
 			}
 		}
 
@@ -567,8 +1229,14 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 				throw new NoSuchElementException();
 			}// else
 			removed = false;// Cleaning removed flag
-			lastReturned = --currentIndex;
-			return orderedHashSet.elements[currentIndex];
+			final Object[] elements = orderedHashSet.elements;
+			int position = currentPosition - 1;
+			while (elements[position] == TOMBSTONE) {
+				position--;
+			}
+			lastReturned = currentPosition = position;
+			currentIndex--;
+			return orderedHashSet.elements[position];
 		}
 
 		@Override
@@ -591,4 +1259,150 @@ public class OrderedHashSet<E> implements OrderedSet<E>, RandomAccess, Cloneable
 			throw new UnsupportedOperationException();
 		}
 	}
+
+	static final class OrderedSetSpliterator<T> implements Spliterator<T> {
+		private final OrderedHashSet<T> orderedHashSet;
+		private int index;
+		// End of the range (exclusive), -1 until bound
+		private int fence;
+
+		OrderedSetSpliterator(OrderedHashSet<T> orderedHashSet, int index, int fence) {
+			this.orderedHashSet = orderedHashSet;
+			this.index = index;
+			this.fence = fence;
+		}
+
+		private int getFence() {
+			if (fence < 0) {
+				// The elements must be at their index
+				orderedHashSet.purge();
+				fence = orderedHashSet.size;
+			}
+			return fence;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			final int lo = index;
+			final int mid = (lo + getFence()) >>> 1;
+			if (lo >= mid) {
+				return null;
+			}// else
+			index = mid;
+			return new OrderedSetSpliterator<T>(orderedHashSet, lo, mid);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}// else
+			if (index < getFence()) {
+				action.accept(orderedHashSet.elements[index++]);
+				return true;
+			}// else
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}// else
+			final int hi = getFence();
+			final T[] elements = orderedHashSet.elements;
+			int i = index;
+			index = hi;
+			for (; i < hi; i++) {
+				action.accept(elements[i]);
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return getFence() - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return IndexSpliterator.CHARACTERISTICS;
+		}
+	}
+
+	/**
+	 * Read-only view of the elements in {@code [offset, offset + size)}.
+	 */
+	private final class SubList extends AbstractList<E> implements RandomAccess {
+		private final int offset;
+		private final int size;
+		private final int expectedModCount = OrderedHashSet.this.modCount;
+
+		SubList(int fromIndex, int toIndex) {
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+		}
+
+		private void checkForComodification() {
+			if (OrderedHashSet.this.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public int size() {
+			checkForComodification();
+			return size;
+		}
+
+		@Override
+		public E get(int index) {
+			checkForComodification();
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index = " + index);
+			}// else
+			return elements[position(offset + index)];
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			checkForComodification();
+			// Looked up in the table first, the absent objects are rejected in constant time
+			final int index = OrderedHashSet.this.indexOf(o) - offset;
+			return index >= 0 && index < size ? index : -1;
+		}
+
+		@Override
+		public int lastIndexOf(Object o) {
+			return indexOf(o);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return indexOf(o) >= 0;
+		}
+
+		@Override
+		public Object[] toArray() {
+			checkForComodification();
+			if (size > 0) {
+				// The elements of the range must be at their index
+				position(offset + size - 1);
+			}
+			return Arrays.copyOfRange(elements, offset, offset + size, Object[].class);
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkForComodification();
+			if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+				throw new IndexOutOfBoundsException("fromIndex = " + fromIndex + ", toIndex = " + toIndex);
+			}// else
+			return new SubList(offset + fromIndex, offset + toIndex);
+		}
+
+		@Override
+		public Spliterator<E> spliterator() {
+			return new IndexSpliterator<E>(this);
+		}
+	}
 }
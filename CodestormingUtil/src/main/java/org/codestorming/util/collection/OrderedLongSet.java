@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Ordered set of primitive {@code long} values, counterpart of {@link OrderedSet}.
+ * <p>
+ * The values are unique and the insertion order is preserved. They are stored in a dense
+ * {@code long} array, indexed by an open-addressing hash table holding the position of
+ * each value in that array. No value is boxed: a value costs about 8 bytes in the array
+ * plus 5 to 10 bytes in the table.
+ * <p>
+ * {@link #contains(long)}, {@link #indexOf(long)} and {@link #get(int)} are done in
+ * constant time. Inserting or removing a value shifts the values placed after it.
+ * <p>
+ * The addition of a value already present in the set does nothing, that is, the index at
+ * which the value was first inserted does not change.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see OrderedIntSet
+ * @since 1.7
+ */
+public class OrderedLongSet implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = -2719386530829107652L;
+
+	/**
+	 * Iterator over primitive {@code long} values.
+	 */
+	public interface LongIterator {
+
+		/**
+		 * Returns {@code true} if the iteration has more values.
+		 *
+		 * @return {@code true} if the iteration has more values.
+		 */
+		boolean hasNext();
+
+		/**
+		 * Returns the next value in the iteration.
+		 *
+		 * @return the next value in the iteration.
+		 * @throws NoSuchElementException if the iteration has no more values.
+		 */
+		long next();
+
+		/**
+		 * Removes the last value returned by {@link #next()} from the underlying set.
+		 *
+		 * @throws IllegalStateException if {@link #next()} has not been called or the last
+		 *         value has already been removed.
+		 */
+		void remove();
+	}
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	private static final float LOAD_FACTOR = 0.8f;
+
+	/**
+	 * The values, in insertion order.
+	 */
+	private transient long[] values;
+
+	/**
+	 * Open-addressing hash table (linear probing). Each slot holds the position of a value
+	 * in {@link #values} plus {@code 1}, {@code 0} being a free slot.
+	 */
+	private transient int[] table;
+
+	private transient int size;
+
+	/**
+	 * Creates a new {@code OrderedLongSet}.
+	 */
+	public OrderedLongSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@code OrderedLongSet}.
+	 *
+	 * @param initialCapacity The number of values the set can hold without resizing
+	 *        itself.
+	 */
+	public OrderedLongSet(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}// else
+		values = new long[initialCapacity];
+		table = new int[tableSizeFor(initialCapacity)];
+	}
+
+	/**
+	 * Creates a new {@code OrderedLongSet} containing the given values, in the same order
+	 * and without the duplicates.
+	 *
+	 * @param values The values to add.
+	 */
+	public OrderedLongSet(long[] values) {
+		this(values.length);
+		addAll(values);
+	}
+
+	/**
+	 * Returns the number of values in this set.
+	 *
+	 * @return the number of values in this set.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns {@code true} if this set contains no value.
+	 *
+	 * @return {@code true} if this set contains no value.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns {@code true} if this set contains the given value.
+	 *
+	 * @param value The value to look for.
+	 * @return {@code true} if this set contains the given value.
+	 */
+	public boolean contains(long value) {
+		return probe(value) >= 0;
+	}
+
+	/**
+	 * Returns the index of the given value in this set, or {@code -1} if it is not in this
+	 * set.
+	 *
+	 * @param value The value to look for.
+	 * @return the index of the given value, or {@code -1}.
+	 */
+	public int indexOf(long value) {
+		final int slot = probe(value);
+		return slot >= 0 ? table[slot] - 1 : -1;
+	}
+
+	/**
+	 * Returns the value at the given index.
+	 *
+	 * @param index Index of the value.
+	 * @return the value at the given index.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		return values[index];
+	}
+
+	/**
+	 * Appends the given value at the end of this set if it is not already present.
+	 *
+	 * @param value The value to add.
+	 * @return {@code true} if this set did not already contain the value.
+	 */
+	public boolean add(long value) {
+		return internalAdd(size, value);
+	}
+
+	/**
+	 * Inserts the given value at the specified index if it is not already present.
+	 *
+	 * @param index Index at which the value is to be inserted.
+	 * @param value The value to add.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}.
+	 */
+	public void add(int index, long value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		internalAdd(index, value);
+	}
+
+	/**
+	 * Appends the given values at the end of this set, in the same order and without the
+	 * ones already present.
+	 *
+	 * @param values The values to add.
+	 * @return {@code true} if this set changed.
+	 */
+	public boolean addAll(long... values) {
+		ensureCapacity(size + values.length);
+		boolean modified = false;
+		for (long value : values) {
+			modified |= internalAdd(size, value);
+		}
+		return modified;
+	}
+
+	/**
+	 * Removes the given value from this set.
+	 *
+	 * @param value The value to remove.
+	 * @return {@code true} if this set contained the value.
+	 */
+	public boolean remove(long value) {
+		final int slot = probe(value);
+		if (slot >= 0) {
+			final int position = table[slot] - 1;
+			deleteSlot(slot);
+			removeFromArray(position);
+			return true;
+		}// else
+		return false;
+	}
+
+	/**
+	 * Removes the value at the given index.
+	 *
+	 * @param index Index of the value to remove.
+	 * @return the removed value.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	public long removeAt(int index) {
+		final long value = get(index);
+		deleteSlot(slotOf(index));
+		removeFromArray(index);
+		return value;
+	}
+
+	/**
+	 * Removes all the values of this set.
+	 */
+	public void clear() {
+		Arrays.fill(table, 0);
+		size = 0;
+	}
+
+	/**
+	 * Reduces the memory used by this set to the minimum needed by its values.
+	 */
+	public void trimToSize() {
+		if (values.length > size) {
+			values = Arrays.copyOf(values, size);
+		}
+		final int length = tableSizeFor(size);
+		if (length < table.length) {
+			rehash(length);
+		}
+	}
+
+	/**
+	 * Returns a new array containing the values of this set, in order.
+	 *
+	 * @return a new array containing the values of this set.
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Returns an iterator over the values of this set, in order.
+	 *
+	 * @return an iterator over the values of this set.
+	 */
+	public LongIterator iterator() {
+		return new LongIterator() {
+			private int cursor;
+			private int lastReturned = -1;
+
+			@Override
+			public boolean hasNext() {
+				return cursor < size;
+			}
+
+			@Override
+			public long next() {
+				if (cursor >= size) {
+					throw new NoSuchElementException();
+				}// else
+				lastReturned = cursor;
+				return values[cursor++];
+			}
+
+			@Override
+			public void remove() {
+				if (lastReturned < 0) {
+					throw new IllegalStateException();
+				}// else
+				removeAt(lastReturned);
+				cursor = lastReturned;
+				lastReturned = -1;
+			}
+		};
+	}
+
+	@Override
+	public OrderedLongSet clone() {
+		try {
+			final OrderedLongSet clone = (OrderedLongSet) super.clone();
+			clone.values = values.clone();
+			clone.table = table.clone();
+			return clone;
+		} catch (CloneNotSupportedException ignore) {
+			// Should not happen, we are cloneable
+			throw new InternalError();
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}// else
+		if (!(obj instanceof OrderedLongSet)) {
+			return false;
+		}// else
+		final OrderedLongSet other = (OrderedLongSet) obj;
+		if (size != other.size) {
+			return false;
+		}// else
+		for (int i = 0; i < size; i++) {
+			if (values[i] != other.values[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashcode = 0;
+		for (int i = 0; i < size; i++) {
+			final long value = values[i];
+			hashcode = 31 * hashcode + (int) (value ^ (value >>> 32));
+		}
+		return hashcode;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder(size * 8 + 2).append('[');
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(values[i]);
+		}
+		return builder.append(']').toString();
+	}
+
+	private boolean internalAdd(int index, long value) {
+		final int slot = probe(value);
+		if (slot >= 0) {
+			return false;
+		}// else
+		ensureCapacity(size + 1);
+		if (index < size) {
+			shiftPositions(index, size, 1);
+			System.arraycopy(values, index, values, index + 1, size - index);
+		}
+		values[index] = value;
+		table[~slot] = index + 1;
+		if (++size > table.length * LOAD_FACTOR) {
+			rehash(table.length << 1);
+		}
+		return true;
+	}
+
+	private void removeFromArray(int position) {
+		final int moved = size - position - 1;
+		if (moved > 0) {
+			shiftPositions(position + 1, size, -1);
+			System.arraycopy(values, position + 1, values, position, moved);
+		}
+		size--;
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1) + 1));
+		}
+	}
+
+	/*
+	 * HASH TABLE
+	 */
+
+	private static int hash(long value) {
+		final long h = value * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private static int tableSizeFor(int capacity) {
+		final int minLength = (int) (capacity / LOAD_FACTOR) + 1;
+		int length = 16;
+		while (length < minLength && length < (1 << 30)) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the slot holding the given value or, if it is not in the table,
+	 * {@code ~slot} where {@code slot} is the free slot in which it would be inserted.
+	 */
+	private int probe(long value) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		for (int i = hash(value) & mask;; i = (i + 1) & mask) {
+			final int position = tab[i] - 1;
+			if (position < 0) {
+				return ~i;
+			} else if (values[position] == value) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the slot holding the given position.
+	 */
+	private int slotOf(int position) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		final int entry = position + 1;
+		int i = hash(values[position]) & mask;
+		while (tab[i] != entry) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Frees the given slot, moving back the following entries of the cluster so that no
+	 * probe sequence is broken.
+	 */
+	private void deleteSlot(int slot) {
+		final int[] tab = table;
+		final int mask = tab.length - 1;
+		int hole = slot;
+		for (int i = (hole + 1) & mask;; i = (i + 1) & mask) {
+			final int entry = tab[i];
+			if (entry == 0) {
+				break;
+			}// else
+			final int home = hash(values[entry - 1]) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				tab[hole] = entry;
+				hole = i;
+			}
+		}
+		tab[hole] = 0;
+	}
+
+	/**
+	 * Adds {@code delta} to the positions stored in the table that are in the range
+	 * {@code [from, to)}, before the values are moved in their array.
+	 */
+	private void shiftPositions(int from, int to, int delta) {
+		final int[] tab = table;
+		if (to - from > tab.length >>> 6) {
+			for (int i = 0; i < tab.length; i++) {
+				final int entry = tab[i];
+				tab[i] = entry + (delta & ~(((entry - from - 1) | (to - entry)) >> 31));
+			}
+		} else if (delta > 0) {
+			for (int position = to - 1; position >= from; position--) {
+				tab[slotOf(position)] += delta;
+			}
+		} else {
+			for (int position = from; position < to; position++) {
+				tab[slotOf(position)] += delta;
+			}
+		}
+	}
+
+	private void rehash(int length) {
+		final int[] tab = new int[length];
+		final int mask = length - 1;
+		for (int position = 0; position < size; position++) {
+			int i = hash(values[position]) & mask;
+			while (tab[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			tab[i] = position + 1;
+		}
+		table = tab;
+	}
+
+	private void writeObject(ObjectOutputStream s) throws IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			s.writeLong(values[i]);
+		}
+	}
+
+	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		final int length = s.readInt();
+		values = new long[length];
+		table = new int[tableSizeFor(length)];
+		for (int i = 0; i < length; i++) {
+			add(s.readLong());
+		}
+	}
+}
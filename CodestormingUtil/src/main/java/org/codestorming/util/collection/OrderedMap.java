@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.Map;
+
+/**
+ * A {@link Map} whose entries are kept in insertion order and can be accessed by index,
+ * like the elements of an {@link OrderedSet}.
+ * <p>
+ * Putting a value for a key already present replaces its value without changing the
+ * index of the entry. The iterators of the {@link #keySet()}, {@link #values()} and
+ * {@link #entrySet()} views follow the order of the entries.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see OrderedHashMap
+ * @since 1.7
+ */
+public interface OrderedMap<K, V> extends Map<K, V> {
+
+	/**
+	 * Returns the key of the entry at the given index.
+	 *
+	 * @param index Index of the entry.
+	 * @return the key of the entry at the given index.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	K getKey(int index);
+
+	/**
+	 * Returns the value of the entry at the given index.
+	 *
+	 * @param index Index of the entry.
+	 * @return the value of the entry at the given index.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	V getValue(int index);
+
+	/**
+	 * Replaces the value of the entry at the given index.
+	 *
+	 * @param index Index of the entry.
+	 * @param value The new value.
+	 * @return the previous value of the entry.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	V setValue(int index, V value);
+
+	/**
+	 * Returns the index of the entry of the given key, or {@code -1} if this map does not
+	 * contain the key.
+	 *
+	 * @param key The key to look for.
+	 * @return the index of the entry of the given key or {@code -1}.
+	 */
+	int indexOfKey(Object key);
+
+	/**
+	 * Removes the entry at the given index, shifting the following entries.
+	 *
+	 * @param index Index of the entry to remove.
+	 * @return the value of the removed entry.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}.
+	 */
+	V removeAt(int index);
+}
@@ -12,7 +12,10 @@
 package org.codestorming.util.collection;
 
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * An {@code OrderedSet} is the union between a {@link List} and a {@link Set}. All
@@ -26,4 +29,24 @@ import java.util.Set;
  * @see Collections3
  */
 public interface OrderedSet<E> extends List<E>, Set<E> {
+
+	/**
+	 * Creates a {@link Spliterator} over the elements of this set, reporting
+	 * {@link Spliterator#ORDERED}, {@link Spliterator#DISTINCT}, {@link Spliterator#SIZED}
+	 * and {@link Spliterator#SUBSIZED}.
+	 * <p>
+	 * If this set is {@link RandomAccess}, the spliterator splits its range of indexes in
+	 * two halves. Otherwise, it splits the elements by batches read from
+	 * {@link #iterator()}.
+	 *
+	 * @return a {@code Spliterator} over the elements of this set.
+	 * @since 1.7
+	 */
+	@Override
+	default Spliterator<E> spliterator() {
+		if (this instanceof RandomAccess) {
+			return new IndexSpliterator<E>(this);
+		}// else
+		return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
+	}
 }
@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Binary encoding of the elements of an {@link OrderedSet}, written to a
+ * {@link ByteBuffer} or a {@link FileChannel} and read back as an {@link OrderedHashSet}.
+ * <p>
+ * The encoded set starts with a header holding the number of elements, the index of the
+ * {@code null} element if any, and the length of the encoded elements. The elements
+ * follow in order, each one encoded by {@link #encode(Object, ByteBuffer)}. The reader
+ * then creates a set of the right capacity and, if the input is trusted, inserts the
+ * elements without looking for duplicates. This is only safe because each codec encodes
+ * distinct elements into distinct bytes: the elements it cannot encode this way are
+ * rejected when writing.
+ * <p>
+ * {@link #strings()}, {@link #integers()} and {@link #longs()} encode the most common
+ * elements. Other elements need a subclass implementing {@link #encodedSize(Object)},
+ * {@link #encode(Object, ByteBuffer)} and {@link #decode(ByteBuffer)}, which never receive
+ * {@code null}.
+ * <p>
+ * The byte order of the buffers is left to the caller, it must be the same for writing
+ * and reading. The channels are always written and read in big-endian.
+ *
+ * @param <E> The type of the encoded elements.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public abstract class OrderedSetCodec<E> {
+
+	private static final int MAGIC = 0x4F534331;
+
+	/**
+	 * Size of the header: magic number, number of elements, index of the {@code null}
+	 * element and length of the encoded elements.
+	 */
+	private static final int HEADER_SIZE = 20;
+
+	/**
+	 * Size of the buffer used to write to a channel.
+	 */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes for the given
+	 * element.
+	 *
+	 * @param e The element, never {@code null}.
+	 * @return the size of the encoded element, in bytes.
+	 * @throws IllegalArgumentException if the element cannot be encoded.
+	 */
+	public abstract int encodedSize(E e);
+
+	/**
+	 * Writes the given element at the position of the given buffer, advancing it by
+	 * {@link #encodedSize(Object)} bytes.
+	 *
+	 * @param e The element to encode, never {@code null}.
+	 * @param buffer The buffer with enough remaining bytes.
+	 * @throws IllegalArgumentException if the element cannot be encoded, in which case
+	 *         nothing is written.
+	 */
+	public abstract void encode(E e, ByteBuffer buffer);
+
+	/**
+	 * Reads an element at the position of the given buffer, advancing it past the read
+	 * bytes.
+	 *
+	 * @param buffer The buffer to read.
+	 * @return the decoded element.
+	 * @throws BufferUnderflowException if the buffer ends before the element.
+	 */
+	public abstract E decode(ByteBuffer buffer);
+
+	/**
+	 * Returns the codec of {@link String} elements, encoded in UTF-8 after their length.
+	 * <p>
+	 * The strings holding an unpaired surrogate, which UTF-8 cannot represent, are rejected
+	 * with an {@link IllegalArgumentException}.
+	 *
+	 * @return the codec of {@code String} elements.
+	 */
+	public static OrderedSetCodec<String> strings() {
+		return StringCodec.INSTANCE;
+	}
+
+	/**
+	 * Returns the codec of {@link Integer} elements, encoded on four bytes.
+	 *
+	 * @return the codec of {@code Integer} elements.
+	 */
+	public static OrderedSetCodec<Integer> integers() {
+		return IntegerCodec.INSTANCE;
+	}
+
+	/**
+	 * Returns the codec of {@link Long} elements, encoded on eight bytes.
+	 *
+	 * @return the codec of {@code Long} elements.
+	 */
+	public static OrderedSetCodec<Long> longs() {
+		return LongCodec.INSTANCE;
+	}
+
+	/**
+	 * Returns the number of bytes written by {@link #write(Collection, ByteBuffer)} for the
+	 * given collection.
+	 *
+	 * @param c The collection to encode.
+	 * @return the size of the encoded collection, in bytes.
+	 * @throws IllegalArgumentException if an element cannot be encoded.
+	 */
+	public final long encodedSizeOf(Collection<? extends E> c) {
+		long size = HEADER_SIZE;
+		for (E e : c) {
+			if (e != null) {
+				size += encodedSize(e);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Writes the elements of the given collection, in its iteration order, at the position
+	 * of the given buffer.
+	 * <p>
+	 * The elements of the collection must be distinct, like in a {@link java.util.Set}.
+	 *
+	 * @param c The collection to encode.
+	 * @param buffer The buffer to write to.
+	 * @throws BufferOverflowException if the buffer is too small, its content after the
+	 *         position being then undefined.
+	 * @throws IllegalArgumentException if an element cannot be encoded, the content of the
+	 *         buffer after the position being then undefined.
+	 * @see #encodedSizeOf(Collection)
+	 */
+	public final void write(Collection<? extends E> c, ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_SIZE) {
+			throw new BufferOverflowException();
+		}// else
+		final int start = buffer.position();
+		buffer.position(start + HEADER_SIZE);
+		int count = 0;
+		int nullIndex = -1;
+		for (E e : c) {
+			if (e == null) {
+				nullIndex = count;
+			} else {
+				encode(e, buffer);
+			}
+			count++;
+		}
+		putHeader(buffer, start, count, nullIndex, buffer.position() - start - HEADER_SIZE);
+	}
+
+	/**
+	 * Writes the elements of the given collection, in its iteration order, at the position
+	 * of the given channel, which is then moved after them.
+	 * <p>
+	 * The elements are encoded in a direct buffer, which the channel writes without
+	 * copying it. The elements of the collection must be distinct, like in a
+	 * {@link java.util.Set}.
+	 *
+	 * @param c The collection to encode.
+	 * @param channel The channel to write to.
+	 * @throws IllegalArgumentException if an element cannot be encoded, the content of the
+	 *         channel after its position being then undefined.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	public final void write(Collection<? extends E> c, FileChannel channel) throws IOException {
+		final long start = channel.position();
+		channel.position(start + HEADER_SIZE);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+		long length = 0;
+		int count = 0;
+		int nullIndex = -1;
+		for (E e : c) {
+			if (e == null) {
+				nullIndex = count;
+			} else {
+				final int size = encodedSize(e);
+				if (size > buffer.remaining()) {
+					flush(buffer, channel);
+					if (size > buffer.capacity()) {
+						buffer = ByteBuffer.allocateDirect(size);
+					}
+				}
+				encode(e, buffer);
+				length += size;
+			}
+			count++;
+		}
+		flush(buffer, channel);
+		final long end = channel.position();
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		putHeader(header, 0, count, nullIndex, length);
+		// The header is written last, once the length is known
+		while (header.hasRemaining()) {
+			channel.write(header, start + header.position());
+		}
+		channel.position(end);
+	}
+
+	private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private static void putHeader(ByteBuffer buffer, int index, int count, int nullIndex, long length) {
+		buffer.putInt(index, MAGIC);
+		buffer.putInt(index + 4, count);
+		buffer.putInt(index + 8, nullIndex);
+		buffer.putLong(index + 12, length);
+	}
+
+	/**
+	 * Reads a set written by {@link #write(Collection, ByteBuffer)} at the position of the
+	 * given buffer, which is then moved after it.
+	 * <p>
+	 * If the input is {@code trusted}, the elements are inserted without looking for
+	 * duplicates: the input must then come from this codec, a duplicate element would
+	 * corrupt the set.
+	 *
+	 * @param buffer The buffer to read.
+	 * @param trusted {@code true} if the elements are known to be distinct.
+	 * @return a new {@link OrderedHashSet} containing the decoded elements.
+	 * @throws IllegalArgumentException if the buffer does not hold an encoded set, or if
+	 *         an untrusted input contains a duplicate element.
+	 * @throws BufferUnderflowException if the buffer ends before the encoded set.
+	 */
+	public final OrderedHashSet<E> read(ByteBuffer buffer, boolean trusted) {
+		final int start = buffer.position();
+		if (buffer.remaining() < HEADER_SIZE) {
+			throw new BufferUnderflowException();
+		}// else
+		checkMagic(buffer.getInt(start));
+		final int count = buffer.getInt(start + 4);
+		final int nullIndex = buffer.getInt(start + 8);
+		final long length = checkHeader(count, nullIndex, buffer.getLong(start + 12));
+		if (buffer.remaining() - HEADER_SIZE < length) {
+			throw new BufferUnderflowException();
+		}// else
+		final int end = start + HEADER_SIZE + (int) length;
+		final ByteBuffer payload = buffer.duplicate();
+		payload.position(start + HEADER_SIZE).limit(end);
+		final OrderedHashSet<E> set = decodeAll(payload, count, nullIndex, length, trusted);
+		buffer.position(end);
+		return set;
+	}
+
+	/**
+	 * Reads a set written by {@link #write(Collection, FileChannel)} at the position of
+	 * the given channel, which is then moved after it.
+	 * <p>
+	 * The encoded elements are mapped in memory rather than copied. If the input is
+	 * {@code trusted}, the elements are inserted without looking for duplicates: the input
+	 * must then come from this codec, a duplicate element would corrupt the set.
+	 *
+	 * @param channel The channel to read.
+	 * @param trusted {@code true} if the elements are known to be distinct.
+	 * @return a new {@link OrderedHashSet} containing the decoded elements.
+	 * @throws IllegalArgumentException if the channel does not hold an encoded set, or if
+	 *         an untrusted input contains a duplicate element.
+	 * @throws IOException if an I/O error occurs or the channel ends before the encoded
+	 *         set.
+	 */
+	public final OrderedHashSet<E> read(FileChannel channel, boolean trusted) throws IOException {
+		final long start = channel.position();
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while (header.hasRemaining()) {
+			if (channel.read(header, start + header.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		checkMagic(header.getInt(0));
+		final int count = header.getInt(4);
+		final int nullIndex = header.getInt(8);
+		final long length = checkHeader(count, nullIndex, header.getLong(12));
+		if (channel.size() - start - HEADER_SIZE < length) {
+			throw new EOFException();
+		}// else
+		final ByteBuffer payload = channel.map(FileChannel.MapMode.READ_ONLY, start + HEADER_SIZE, length);
+		final OrderedHashSet<E> set = decodeAll(payload, count, nullIndex, length, trusted);
+		channel.position(start + HEADER_SIZE + length);
+		return set;
+	}
+
+	private static void checkMagic(int magic) {
+		if (magic != MAGIC) {
+			throw new IllegalArgumentException("Not an encoded OrderedSet");
+		}
+	}
+
+	private static long checkHeader(int count, int nullIndex, long length) {
+		if (count < 0 || nullIndex < -1 || nullIndex >= count || length < 0 || length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Corrupted OrderedSet header");
+		}// else
+		return length;
+	}
+
+	private OrderedHashSet<E> decodeAll(ByteBuffer payload, int count, int nullIndex, long length,
+			boolean trusted) {
+		// An untrusted count could make the presizing exhaust the memory
+		final OrderedHashSet<E> set = new OrderedHashSet<E>(trusted ? count : (int) Math.min(count, length + 1));
+		for (int i = 0; i < count; i++) {
+			final E e = i == nullIndex ? null : decode(payload);
+			if (trusted) {
+				set.appendAbsent(e);
+			} else if (!set.add(e)) {
+				throw new IllegalArgumentException("Duplicate element at index " + i);
+			}
+		}
+		return set;
+	}
+
+	private static final class StringCodec extends OrderedSetCodec<String> {
+
+		static final StringCodec INSTANCE = new StringCodec();
+
+		/**
+		 * Returns the length of the given string in UTF-8.
+		 * <p>
+		 * An unpaired surrogate is rejected rather than replaced by {@code '?'} like in
+		 * {@link String#getBytes(java.nio.charset.Charset)}, which would encode distinct
+		 * strings into the same bytes.
+		 */
+		private static int utf8Length(String s) {
+			final int length = s.length();
+			int utf8Length = length;
+			for (int i = 0; i < length; i++) {
+				final char c = s.charAt(i);
+				if (c >= 0x80) {
+					if (c < 0x800) {
+						utf8Length++;
+					} else if (Character.isHighSurrogate(c) && i + 1 < length
+							&& Character.isLowSurrogate(s.charAt(i + 1))) {
+						// 4 bytes for 2 chars
+						utf8Length += 2;
+						i++;
+					} else if (!Character.isSurrogate(c)) {
+						utf8Length += 2;
+					} else {
+						throw new IllegalArgumentException("Unpaired surrogate at index " + i);
+					}
+				}
+			}
+			return utf8Length;
+		}
+
+		private static int varIntSize(int value) {
+			int size = 1;
+			while ((value >>>= 7) != 0) {
+				size++;
+			}
+			return size;
+		}
+
+		@Override
+		public int encodedSize(String e) {
+			final int length = utf8Length(e);
+			return varIntSize(length) + length;
+		}
+
+		@Override
+		public void encode(String e, ByteBuffer buffer) {
+			int length = utf8Length(e);
+			while ((length & ~0x7F) != 0) {
+				buffer.put((byte) (length | 0x80));
+				length >>>= 7;
+			}
+			buffer.put((byte) length);
+			final int count = e.length();
+			for (int i = 0; i < count; i++) {
+				final char c = e.charAt(i);
+				if (c < 0x80) {
+					buffer.put((byte) c);
+				} else if (c < 0x800) {
+					buffer.put((byte) (0xC0 | c >> 6));
+					buffer.put((byte) (0x80 | c & 0x3F));
+				} else if (!Character.isSurrogate(c)) {
+					buffer.put((byte) (0xE0 | c >> 12));
+					buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+					buffer.put((byte) (0x80 | c & 0x3F));
+				} else {
+					// A surrogate pair, checked by utf8Length
+					final int codePoint = Character.toCodePoint(c, e.charAt(++i));
+					buffer.put((byte) (0xF0 | codePoint >> 18));
+					buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+					buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+					buffer.put((byte) (0x80 | codePoint & 0x3F));
+				}
+			}
+		}
+
+		@Override
+		public String decode(ByteBuffer buffer) {
+			int length = 0;
+			int shift = 0;
+			byte b;
+			do {
+				if (shift > 28) {
+					throw new IllegalArgumentException("Malformed string length");
+				}// else
+				b = buffer.get();
+				length |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			if (length < 0 || length > buffer.remaining()) {
+				throw new BufferUnderflowException();
+			}// else
+			final String s;
+			if (buffer.hasArray()) {
+				final int position = buffer.position();
+				s = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+				buffer.position(position + length);
+			} else {
+				final byte[] bytes = new byte[length];
+				buffer.get(bytes);
+				s = new String(bytes, StandardCharsets.UTF_8);
+			}
+			return s;
+		}
+	}
+
+	private static final class IntegerCodec extends OrderedSetCodec<Integer> {
+
+		static final IntegerCodec INSTANCE = new IntegerCodec();
+
+		@Override
+		public int encodedSize(Integer e) {
+			return 4;
+		}
+
+		@Override
+		public void encode(Integer e, ByteBuffer buffer) {
+			buffer.putInt(e);
+		}
+
+		@Override
+		public Integer decode(ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+	}
+
+	private static final class LongCodec extends OrderedSetCodec<Long> {
+
+		static final LongCodec INSTANCE = new LongCodec();
+
+		@Override
+		public int encodedSize(Long e) {
+			return 8;
+		}
+
+		@Override
+		public void encode(Long e, ByteBuffer buffer) {
+			buffer.putLong(e);
+		}
+
+		@Override
+		public Long decode(ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+	}
+}
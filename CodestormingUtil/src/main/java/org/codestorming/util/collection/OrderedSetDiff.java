@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sequence of operations transforming an {@link OrderedSet} into another one, computed
+ * by {@link #compute(OrderedSet, OrderedSet)} and applied by {@link #patch(OrderedSet)}.
+ * <p>
+ * The operations are applied in order, the indexes of each operation being the ones of
+ * the set once the previous operations applied. The removals come first, from the last
+ * index to the first one, then the insertions and the moves in the order of the target.
+ * <p>
+ * Since the elements of an {@code OrderedSet} are unique, the elements kept in place form
+ * the longest increasing subsequence of their indexes in the target, taken in the order
+ * of the source. The number of moves is then minimal, the diff being computed in
+ * {@code O(n log n)}.
+ *
+ * @param <E> The type of the elements.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public final class OrderedSetDiff<E> implements Iterable<OrderedSetDiff.Operation<E>> {
+
+	/**
+	 * Type of the operations of an {@link OrderedSetDiff}.
+	 */
+	public enum OperationType {
+		INSERT,
+		REMOVE,
+		MOVE,
+	}
+
+	/**
+	 * Operation of an {@link OrderedSetDiff}.
+	 *
+	 * @param <E> The type of the element.
+	 */
+	public static final class Operation<E> {
+
+		private final OperationType type;
+
+		private final E element;
+
+		private final int fromIndex;
+
+		private final int toIndex;
+
+		Operation(OperationType type, E element, int fromIndex, int toIndex) {
+			this.type = type;
+			this.element = element;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+		}
+
+		/**
+		 * Returns the type of this operation.
+		 *
+		 * @return the type of this operation.
+		 */
+		public OperationType getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the inserted, removed or moved element.
+		 *
+		 * @return the element of this operation.
+		 */
+		public E getElement() {
+			return element;
+		}
+
+		/**
+		 * Returns the index of the removed or moved element, {@code -1} for an insertion.
+		 *
+		 * @return the index of the element before this operation.
+		 */
+		public int getFromIndex() {
+			return fromIndex;
+		}
+
+		/**
+		 * Returns the index of the inserted or moved element, {@code -1} for a removal.
+		 *
+		 * @return the index of the element after this operation.
+		 */
+		public int getToIndex() {
+			return toIndex;
+		}
+
+		@Override
+		public String toString() {
+			switch (type) {
+			case INSERT:
+				return "INSERT " + element + " at " + toIndex;
+			case REMOVE:
+				return "REMOVE " + element + " at " + fromIndex;
+			default:
+				return "MOVE " + element + " from " + fromIndex + " to " + toIndex;
+			}
+		}
+	}
+
+	private final List<Operation<E>> operations;
+
+	private OrderedSetDiff(List<Operation<E>> operations) {
+		this.operations = Collections.unmodifiableList(operations);
+	}
+
+	/**
+	 * Computes the operations transforming the {@code source} set into the
+	 * {@code target} one.
+	 * <p>
+	 * The elements are looked up with {@link OrderedSet#indexOf(Object)}, so the
+	 * {@link Equivalence} of the sets is used when they have one.
+	 *
+	 * @param source The set to transform.
+	 * @param target The set to obtain.
+	 * @return the diff between the two sets.
+	 */
+	public static <E> OrderedSetDiff<E> compute(OrderedSet<? extends E> source, OrderedSet<? extends E> target) {
+		final List<Operation<E>> operations = new ArrayList<Operation<E>>();
+		final int sourceSize = source.size();
+		final int targetSize = target.size();
+		// Index in the target of each element of the source, -1 if it is removed
+		final int[] sourceToTarget = new int[sourceSize];
+		int kept = 0;
+		int index = 0;
+		for (E e : source) {
+			if ((sourceToTarget[index++] = target.indexOf(e)) >= 0) {
+				kept++;
+			}
+		}
+		if (kept < sourceSize) {
+			final ListIterator<? extends E> it = source.listIterator(sourceSize);
+			while (it.hasPrevious()) {
+				final E e = it.previous();
+				if (sourceToTarget[it.nextIndex()] < 0) {
+					operations.add(new Operation<E>(OperationType.REMOVE, e, it.nextIndex(), -1));
+				}
+			}
+		}
+		// Index of each kept element once the removals applied, -1 for the inserted ones
+		final int[] targetToKept = new int[targetSize];
+		Arrays.fill(targetToKept, -1);
+		final int[] keptToTarget = new int[kept];
+		for (int i = 0, k = 0; i < sourceSize; i++) {
+			if (sourceToTarget[i] >= 0) {
+				keptToTarget[k] = sourceToTarget[i];
+				targetToKept[sourceToTarget[i]] = k++;
+			}
+		}
+		final boolean[] anchors = longestIncreasingSubsequence(keptToTarget);
+		// The elements are ordered by a key whose rank is tracked in a Fenwick tree. The key
+		// of a kept element is its index in the group of this index, once inserted or
+		// moved it joins the group of the nearest anchor before it in the target (group 0
+		// if none), after the anchor and the elements already placed.
+		final int[] groupSizes = new int[kept + 2];
+		for (int k = 0; k < kept; k++) {
+			groupSizes[k + 2]++;
+		}
+		final int[] groups = new int[targetSize];
+		int group = 0;
+		for (int i = 0; i < targetSize; i++) {
+			final int k = targetToKept[i];
+			if (k >= 0 && anchors[k]) {
+				group = k + 1;
+			} else {
+				groups[i] = group;
+				groupSizes[group + 1]++;
+			}
+		}
+		// groupSizes now holds the rank of the first key of each group
+		for (int g = 1; g < groupSizes.length; g++) {
+			groupSizes[g] += groupSizes[g - 1];
+		}
+		final int[] ranks = new int[targetSize];
+		final int[] groupFill = new int[kept + 1];
+		for (int k = 0; k < kept; k++) {
+			groupFill[k + 1] = anchors[k] ? 1 : 0;
+		}
+		for (int i = 0; i < targetSize; i++) {
+			final int k = targetToKept[i];
+			if (k < 0 || !anchors[k]) {
+				ranks[i] = groupSizes[groups[i]] + groupFill[groups[i]]++;
+			}
+		}
+		final int[] tree = new int[groupSizes[kept + 1] + 1];
+		for (int k = 0; k < kept; k++) {
+			add(tree, groupSizes[k + 1], 1);
+		}
+		for (int i = 0; i < targetSize; i++) {
+			final int k = targetToKept[i];
+			if (k >= 0 && anchors[k]) {
+				continue;
+			}// else
+			final int to;
+			if (k < 0) {
+				to = count(tree, ranks[i]);
+				operations.add(new Operation<E>(OperationType.INSERT, target.get(i), -1, to));
+			} else {
+				final int from = count(tree, groupSizes[k + 1]);
+				add(tree, groupSizes[k + 1], -1);
+				to = count(tree, ranks[i]);
+				if (from != to) {
+					operations.add(new Operation<E>(OperationType.MOVE, target.get(i), from, to));
+				}
+			}
+			add(tree, ranks[i], 1);
+		}
+		return new OrderedSetDiff<E>(operations);
+	}
+
+	/**
+	 * Adds the given delta to the count of the given rank in the Fenwick tree.
+	 */
+	private static void add(int[] tree, int rank, int delta) {
+		for (int i = rank + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Returns the sum of the counts of the ranks lower than the given one in the Fenwick
+	 * tree.
+	 */
+	private static int count(int[] tree, int rank) {
+		int count = 0;
+		for (int i = rank; i > 0; i -= i & -i) {
+			count += tree[i];
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the elements of a longest increasing subsequence of the given values.
+	 */
+	private static boolean[] longestIncreasingSubsequence(int[] values) {
+		final int count = values.length;
+		// tails[k] is the index of the smallest value ending an increasing subsequence of
+		// length k + 1
+		final int[] tails = new int[count];
+		final int[] predecessors = new int[count];
+		int length = 0;
+		for (int i = 0; i < count; i++) {
+			final int value = values[i];
+			int lo = 0;
+			int hi = length;
+			while (lo < hi) {
+				final int mid = (lo + hi) >>> 1;
+				if (values[tails[mid]] < value) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			predecessors[i] = lo > 0 ? tails[lo - 1] : -1;
+			tails[lo] = i;
+			if (lo == length) {
+				length++;
+			}
+		}
+		final boolean[] members = new boolean[count];
+		for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+			members[i] = true;
+		}
+		return members;
+	}
+
+	/**
+	 * Returns the operations of this diff.
+	 *
+	 * @return an unmodifiable list of the operations, in the order they are applied.
+	 */
+	public List<Operation<E>> getOperations() {
+		return operations;
+	}
+
+	/**
+	 * Indicates whether this diff has no operation, that is the two sets are equal.
+	 *
+	 * @return {@code true} if this diff has no operation.
+	 */
+	public boolean isEmpty() {
+		return operations.isEmpty();
+	}
+
+	@Override
+	public Iterator<Operation<E>> iterator() {
+		return operations.iterator();
+	}
+
+	/**
+	 * Applies the operations of this diff to the given set, which must be equal to the
+	 * source of this diff.
+	 * <p>
+	 * The moves use {@link TreeOrderedSet#move(int, int)} on a {@link TreeOrderedSet}, a
+	 * removal followed by an insertion otherwise.
+	 *
+	 * @param set The set to transform into the target of this diff.
+	 * @throws IllegalStateException if the set does not match an operation, it is then
+	 *         left partially patched.
+	 */
+	public void patch(OrderedSet<E> set) {
+		for (Operation<E> operation : operations) {
+			final E e = operation.element;
+			switch (operation.type) {
+			case INSERT:
+				if (set.contains(e)) {
+					throw new IllegalStateException("Cannot insert " + e + ", it is already in the set");
+				}// else
+				set.add(operation.toIndex, e);
+				break;
+			case REMOVE:
+				checkIndex(set, operation);
+				set.remove(operation.fromIndex);
+				break;
+			default:
+				checkIndex(set, operation);
+				if (set instanceof TreeOrderedSet) {
+					((TreeOrderedSet<E>) set).move(operation.fromIndex, operation.toIndex);
+				} else {
+					set.remove(operation.fromIndex);
+					set.add(operation.toIndex, e);
+				}
+			}
+		}
+	}
+
+	private static void checkIndex(OrderedSet<?> set, Operation<?> operation) {
+		if (set.indexOf(operation.element) != operation.fromIndex) {
+			throw new IllegalStateException("Cannot apply " + operation + ", the set is not the source of the diff");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return operations.toString();
+	}
+}
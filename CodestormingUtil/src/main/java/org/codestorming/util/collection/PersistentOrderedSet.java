@@ -0,0 +1,756 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable {@link OrderedSet} whose modifications return a new version sharing most of its
+ * structure with the previous one.
+ * <p>
+ * {@link #with(Object)}, {@link #without(Object)} and {@link #insert(int, Object)} return a
+ * new set in {@code O(log n)} and leave this one unchanged, so a version can be published
+ * to other threads without any defensive copy. The {@link java.util.List} and
+ * {@link java.util.Set} modification methods throw an
+ * {@link UnsupportedOperationException}.
+ * <p>
+ * Each element is given a <em>label</em>, a {@code long} whose order follows the order of
+ * the elements. The elements are kept in a persistent AVL tree sorted by label and counting
+ * the nodes of each subtree, which gives {@link #get(int)} and the rank of a label in
+ * {@code O(log n)}. A persistent hash trie maps each element to its label, which gives
+ * {@link #contains(Object)} and {@link #indexOf(Object)}. When two neighbour labels leave
+ * no room for an insertion, the labels of a small range around the insertion point are
+ * spread again (list labeling), which keeps insertions in amortized polylogarithmic time.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see OrderedHashSet
+ * @since 1.7
+ */
+public class PersistentOrderedSet<E> extends AbstractOrderedSet<E> implements Serializable {
+
+	private static final long serialVersionUID = 3815906375213432215L;
+
+	/**
+	 * Labels are in {@code [0, LABEL_SPACE)}.
+	 */
+	private static final long LABEL_SPACE = 1L << 62;
+
+	/**
+	 * Label of the first element of a set.
+	 */
+	private static final long FIRST_LABEL = LABEL_SPACE >>> 1;
+
+	/**
+	 * Gap between the labels of elements added at the ends of the set.
+	 */
+	private static final long GAP = 1L << 20;
+
+	/**
+	 * Inverse of the maximum density of the label ranges used for relabeling, the larger
+	 * ranges having to be sparser.
+	 */
+	private static final double DENSITY_BASE = 1.3;
+
+	private static final PersistentOrderedSet<Object> EMPTY = new PersistentOrderedSet<Object>(null, null,
+			Equivalence.equality());
+
+	/**
+	 * Root of the AVL tree sorted by label.
+	 */
+	private final transient Node<E> order;
+
+	/**
+	 * Root of the hash trie mapping the elements to their label.
+	 */
+	private final transient TrieNode labels;
+
+	/**
+	 * The strategy hashing and comparing the elements.
+	 */
+	private final transient Equivalence<Object> equivalence;
+
+	private PersistentOrderedSet(Node<E> order, TrieNode labels, Equivalence<Object> equivalence) {
+		this.order = order;
+		this.labels = labels;
+		this.equivalence = equivalence;
+	}
+
+	/**
+	 * Returns the empty {@code PersistentOrderedSet}.
+	 *
+	 * @return the empty {@code PersistentOrderedSet}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentOrderedSet<E> empty() {
+		return (PersistentOrderedSet<E>) EMPTY;
+	}
+
+	/**
+	 * Returns the empty {@code PersistentOrderedSet} comparing its elements with the given
+	 * {@link Equivalence}, the sets derived from it using the same {@code Equivalence}.
+	 *
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @return the empty {@code PersistentOrderedSet} using the given {@code Equivalence}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentOrderedSet<E> empty(Equivalence<? super E> equivalence) {
+		if (equivalence == null) {
+			throw new NullPointerException("equivalence cannot be null");
+		} else if (equivalence == Equivalence.equality()) {
+			return empty();
+		}// else
+		return new PersistentOrderedSet<E>(null, null, (Equivalence<Object>) equivalence);
+	}
+
+	/**
+	 * Returns a {@code PersistentOrderedSet} containing the elements of the given collection,
+	 * in its iteration order and without the duplicates.
+	 * <p>
+	 * The order tree is built directly balanced, so building from an {@link OrderedHashSet}
+	 * or another {@link OrderedSet} only costs the insertions into the hash trie.
+	 *
+	 * @param c The collection whose elements are to be placed into the set.
+	 * @return a {@code PersistentOrderedSet} containing the elements of the given collection.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentOrderedSet<E> copyOf(Collection<? extends E> c) {
+		if (c instanceof PersistentOrderedSet
+				&& ((PersistentOrderedSet<E>) c).equivalence == Equivalence.equality()) {
+			return (PersistentOrderedSet<E>) c;
+		}// else
+		return copyOf(c, Equivalence.equality());
+	}
+
+	/**
+	 * Returns a {@code PersistentOrderedSet} comparing its elements with the given
+	 * {@link Equivalence} and containing the elements of the given collection, in its
+	 * iteration order and without the duplicates.
+	 *
+	 * @param c The collection whose elements are to be placed into the set.
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @return a {@code PersistentOrderedSet} containing the elements of the given collection.
+	 * @see #copyOf(Collection)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentOrderedSet<E> copyOf(Collection<? extends E> c, Equivalence<? super E> equivalence) {
+		final PersistentOrderedSet<E> empty = empty(equivalence);
+		final Object[] elements = c.toArray();
+		final long[] elementLabels = new long[elements.length];
+		TrieNode trie = null;
+		int size = 0;
+		long label = FIRST_LABEL;
+		for (Object e : elements) {
+			final int hash = empty.hash(e);
+			if (TrieNode.find(trie, e, hash, 0, empty.equivalence) == null) {
+				trie = TrieNode.put(trie, new Entry(e, hash, label), 0, empty.equivalence);
+				elements[size] = e;
+				elementLabels[size++] = label;
+				label += GAP;
+			}
+		}
+		if (size == 0) {
+			return empty;
+		}// else
+		return new PersistentOrderedSet<E>(Node.<E> build(elements, elementLabels, 0, size), trie, empty.equivalence);
+	}
+
+	/**
+	 * Returns a new {@link OrderedHashSet} containing the elements of this set, in the same
+	 * order.
+	 *
+	 * @return a new {@link OrderedHashSet} containing the elements of this set.
+	 */
+	public OrderedHashSet<E> toOrderedHashSet() {
+		final OrderedHashSet<E> set = new OrderedHashSet<E>(size(), equivalence);
+		set.addAll(this);
+		return set;
+	}
+
+	/**
+	 * Returns the strategy hashing and comparing the elements of this set.
+	 *
+	 * @return the {@link Equivalence} of this set.
+	 */
+	public Equivalence<? super E> getEquivalence() {
+		return equivalence;
+	}
+
+	/**
+	 * Returns a set containing the elements of this one followed by the given element if it
+	 * is not already present, or this set if it is.
+	 *
+	 * @param e The element to add.
+	 * @return a set containing the elements of this one and the given element.
+	 */
+	public PersistentOrderedSet<E> with(E e) {
+		return insert(size(), e);
+	}
+
+	/**
+	 * Returns a set containing the elements of this one with the given element inserted at
+	 * the specified index, or this set if the element is already present.
+	 *
+	 * @param index Index at which the element is to be inserted.
+	 * @param e The element to add.
+	 * @return a set containing the elements of this one and the given element.
+	 * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}.
+	 */
+	public PersistentOrderedSet<E> insert(int index, E e) {
+		final int size = size();
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		final int hash = hash(e);
+		if (TrieNode.find(labels, e, hash, 0, equivalence) != null) {
+			return this;
+		}// else
+		final long before = index > 0 ? Node.select(order, index - 1).label : -1;
+		final long after = index < size ? Node.select(order, index).label : LABEL_SPACE;
+		if (after - before >= 2) {
+			final long label;
+			if (index == size) {
+				label = before < 0 ? FIRST_LABEL : before + Math.min(GAP, (after - before) / 2);
+			} else if (index == 0) {
+				label = after - Math.min(GAP, (after - before) / 2);
+			} else {
+				label = before + (after - before) / 2;
+			}
+			return new PersistentOrderedSet<E>(Node.insert(order, label, e), TrieNode.put(labels, new Entry(e, hash,
+					label), 0, equivalence), equivalence);
+		}// else
+		return relabelAndInsert(index, e, hash, before >= 0 ? before : after);
+	}
+
+	/**
+	 * Returns a set containing the elements of this one but the given element, or this set
+	 * if the element is not present.
+	 *
+	 * @param o The element to remove.
+	 * @return a set containing the elements of this one but the given element.
+	 */
+	public PersistentOrderedSet<E> without(Object o) {
+		final int hash = hash(o);
+		final Entry entry = TrieNode.find(labels, o, hash, 0, equivalence);
+		if (entry == null) {
+			return this;
+		}// else
+		final Node<E> newOrder = Node.remove(order, entry.label);
+		if (newOrder == null) {
+			return empty(equivalence);
+		}// else
+		return new PersistentOrderedSet<E>(newOrder, TrieNode.remove(labels, o, hash, 0, equivalence), equivalence);
+	}
+
+	/**
+	 * Spreads the labels of the smallest sparse enough range containing the given label,
+	 * making room for the insertion of the given element at the given index.
+	 */
+	private PersistentOrderedSet<E> relabelAndInsert(int index, E e, int hash, long near) {
+		for (int k = 1; k < 62; k++) {
+			final long low = (near >>> k) << k;
+			final long high = low + (1L << k) - 1;
+			final int first = Node.countLess(order, low);
+			final int count = Node.countLess(order, high + 1) - first;
+			final long step = (1L << k) / (count + 2);
+			if (step < 2 || count + 1 > (1L << k) * Math.pow(DENSITY_BASE, -k)) {
+				continue;
+			}// else
+			// count + 1 labels spread in the range, the one at (index - first) is the new one
+			final long[] newLabels = new long[count];
+			final int insertion = index - first;
+			for (int i = 0, j = 0; i <= count; i++) {
+				if (i != insertion) {
+					newLabels[j++] = low + (i + 1) * step;
+				}
+			}
+			final Object[] relabeled = new Object[count];
+			final int[] cursor = new int[1];
+			Node<E> newOrder = Node.relabel(order, low, high, newLabels, relabeled, cursor);
+			TrieNode trie = labels;
+			for (int i = 0; i < count; i++) {
+				final Object element = relabeled[i];
+				trie = TrieNode.put(trie, new Entry(element, hash(element), newLabels[i]), 0, equivalence);
+			}
+			final long label = low + (insertion + 1) * step;
+			newOrder = Node.insert(newOrder, label, e);
+			trie = TrieNode.put(trie, new Entry(e, hash, label), 0, equivalence);
+			return new PersistentOrderedSet<E>(newOrder, trie, equivalence);
+		}
+		throw new IllegalStateException("No more label available");
+	}
+
+	@Override
+	public int size() {
+		return order == null ? 0 : order.size;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index = " + index);
+		}// else
+		return Node.select(order, index).element;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return TrieNode.find(labels, o, hash(o), 0, equivalence) != null;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		final Entry entry = TrieNode.find(labels, o, hash(o), 0, equivalence);
+		return entry == null ? -1 : Node.countLess(order, entry.label);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			// Stack of the nodes whose left subtree is being visited
+			@SuppressWarnings("unchecked")
+			private final Node<E>[] stack = (Node<E>[]) new Node<?>[order == null ? 0 : order.height];
+			private int depth;
+
+			{
+				pushLeft(order);
+			}
+
+			private void pushLeft(Node<E> node) {
+				for (Node<E> n = node; n != null; n = n.left) {
+					stack[depth++] = n;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return depth > 0;
+			}
+
+			@Override
+			public E next() {
+				if (depth == 0) {
+					throw new NoSuchElementException();
+				}// else
+				final Node<E> node = stack[--depth];
+				pushLeft(node.right);
+				return node.element;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	@Override
+	public boolean add(E e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		return new SerializedForm(toArray(), equivalence);
+	}
+
+	private int hash(Object o) {
+		final int h = equivalence.hash(o) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean eq(Object o1, Object o2, Equivalence<Object> equivalence) {
+		return o1 == o2 || equivalence.equivalent(o1, o2);
+	}
+
+	/**
+	 * Serialized form of a {@code PersistentOrderedSet}: its elements in order and its
+	 * {@link Equivalence}.
+	 */
+	private static class SerializedForm implements Serializable {
+
+		private static final long serialVersionUID = -8047412311279283710L;
+
+		private final Object[] elements;
+
+		private final Equivalence<Object> equivalence;
+
+		SerializedForm(Object[] elements, Equivalence<Object> equivalence) {
+			this.elements = elements;
+			this.equivalence = equivalence;
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			return copyOf(java.util.Arrays.asList(elements), equivalence);
+		}
+	}
+
+	/**
+	 * Node of the persistent AVL tree sorted by label.
+	 */
+	private static final class Node<E> {
+		final long label;
+		final E element;
+		final Node<E> left;
+		final Node<E> right;
+		final int size;
+		final int height;
+
+		Node(long label, E element, Node<E> left, Node<E> right) {
+			this.label = label;
+			this.element = element;
+			this.left = left;
+			this.right = right;
+			size = size(left) + size(right) + 1;
+			height = Math.max(height(left), height(right)) + 1;
+		}
+
+		static int size(Node<?> node) {
+			return node == null ? 0 : node.size;
+		}
+
+		static int height(Node<?> node) {
+			return node == null ? 0 : node.height;
+		}
+
+		static <E> Node<E> build(Object[] elements, long[] labels, int from, int to) {
+			if (from >= to) {
+				return null;
+			}// else
+			final int middle = (from + to) >>> 1;
+			@SuppressWarnings("unchecked")
+			final E element = (E) elements[middle];
+			return new Node<E>(labels[middle], element, Node.<E> build(elements, labels, from, middle), Node.<E> build(
+					elements, labels, middle + 1, to));
+		}
+
+		static <E> Node<E> balance(long label, E element, Node<E> left, Node<E> right) {
+			final int diff = height(left) - height(right);
+			if (diff > 1) {
+				if (height(left.left) >= height(left.right)) {
+					return new Node<E>(left.label, left.element, left.left,
+							new Node<E>(label, element, left.right, right));
+				}// else
+				final Node<E> lr = left.right;
+				return new Node<E>(lr.label, lr.element, new Node<E>(left.label, left.element, left.left, lr.left),
+						new Node<E>(label, element, lr.right, right));
+			} else if (diff < -1) {
+				if (height(right.right) >= height(right.left)) {
+					return new Node<E>(right.label, right.element, new Node<E>(label, element, left, right.left),
+							right.right);
+				}// else
+				final Node<E> rl = right.left;
+				return new Node<E>(rl.label, rl.element, new Node<E>(label, element, left, rl.left), new Node<E>(
+						right.label, right.element, rl.right, right.right));
+			}// else
+			return new Node<E>(label, element, left, right);
+		}
+
+		static <E> Node<E> insert(Node<E> node, long label, E element) {
+			if (node == null) {
+				return new Node<E>(label, element, null, null);
+			} else if (label < node.label) {
+				return balance(node.label, node.element, insert(node.left, label, element), node.right);
+			}// else
+			return balance(node.label, node.element, node.left, insert(node.right, label, element));
+		}
+
+		static <E> Node<E> remove(Node<E> node, long label) {
+			if (node == null) {
+				return null;
+			} else if (label < node.label) {
+				return balance(node.label, node.element, remove(node.left, label), node.right);
+			} else if (label > node.label) {
+				return balance(node.label, node.element, node.left, remove(node.right, label));
+			} else if (node.left == null) {
+				return node.right;
+			} else if (node.right == null) {
+				return node.left;
+			}// else
+			Node<E> min = node.right;
+			while (min.left != null) {
+				min = min.left;
+			}
+			return balance(min.label, min.element, node.left, remove(node.right, min.label));
+		}
+
+		static <E> Node<E> select(Node<E> node, int index) {
+			Node<E> n = node;
+			int i = index;
+			while (true) {
+				final int leftSize = size(n.left);
+				if (i < leftSize) {
+					n = n.left;
+				} else if (i > leftSize) {
+					i -= leftSize + 1;
+					n = n.right;
+				} else {
+					return n;
+				}
+			}
+		}
+
+		/**
+		 * Returns the number of labels lower than the given one.
+		 */
+		static int countLess(Node<?> node, long label) {
+			int count = 0;
+			Node<?> n = node;
+			while (n != null) {
+				if (label <= n.label) {
+					n = n.left;
+				} else {
+					count += size(n.left) + 1;
+					n = n.right;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Gives the labels of {@code newLabels} to the nodes whose label is in
+		 * {@code [low, high]}, in order, and stores their elements in {@code relabeled}.
+		 * <p>
+		 * The new labels must be in the same range, so that the tree stays sorted.
+		 */
+		static <E> Node<E> relabel(Node<E> node, long low, long high, long[] newLabels, Object[] relabeled,
+				int[] cursor) {
+			if (node == null) {
+				return null;
+			} else if (node.label < low) {
+				return new Node<E>(node.label, node.element, node.left, relabel(node.right, low, high, newLabels,
+						relabeled, cursor));
+			} else if (node.label > high) {
+				return new Node<E>(node.label, node.element,
+						relabel(node.left, low, high, newLabels, relabeled, cursor), node.right);
+			}// else
+			final Node<E> left = relabel(node.left, low, high, newLabels, relabeled, cursor);
+			final int i = cursor[0]++;
+			relabeled[i] = node.element;
+			final long label = newLabels[i];
+			return new Node<E>(label, node.element, left, relabel(node.right, low, high, newLabels, relabeled, cursor));
+		}
+	}
+
+	/**
+	 * Element and label stored in the hash trie.
+	 */
+	private static final class Entry {
+		final Object key;
+		final int hash;
+		final long label;
+
+		Entry(Object key, int hash, long label) {
+			this.key = key;
+			this.hash = hash;
+			this.label = label;
+		}
+	}
+
+	/**
+	 * Node of the persistent hash trie: a bitmap indexed node whose array holds
+	 * {@link Entry}s and sub nodes, or a collision node holding {@link Entry}s with the same
+	 * hash.
+	 */
+	private static final class TrieNode {
+		static final int BITS = 5;
+		static final int MASK = (1 << BITS) - 1;
+
+		// Bitmap of the used slots of a bitmap indexed node
+		final int bitmap;
+		// The hash of the entries of a collision node
+		final int hash;
+		final boolean collision;
+		final Object[] array;
+
+		TrieNode(int bitmap, int hash, Object[] array) {
+			this(bitmap, hash, false, array);
+		}
+
+		private TrieNode(int bitmap, int hash, boolean collision, Object[] array) {
+			this.bitmap = bitmap;
+			this.hash = hash;
+			this.collision = collision;
+			this.array = array;
+		}
+
+		static TrieNode collision(int hash, Object[] entries) {
+			return new TrieNode(0, hash, true, entries);
+		}
+
+		static Entry find(TrieNode root, Object key, int hash, int shift, Equivalence<Object> equivalence) {
+			TrieNode node = root;
+			int s = shift;
+			while (node != null) {
+				if (node.collision) {
+					if (node.hash == hash) {
+						for (Object o : node.array) {
+							if (eq(((Entry) o).key, key, equivalence)) {
+								return (Entry) o;
+							}
+						}
+					}
+					return null;
+				}// else
+				final int bit = 1 << ((hash >>> s) & MASK);
+				if ((node.bitmap & bit) == 0) {
+					return null;
+				}// else
+				final Object o = node.array[Integer.bitCount(node.bitmap & (bit - 1))];
+				if (o instanceof Entry) {
+					final Entry entry = (Entry) o;
+					return entry.hash == hash && eq(entry.key, key, equivalence) ? entry : null;
+				}// else
+				node = (TrieNode) o;
+				s += BITS;
+			}
+			return null;
+		}
+
+		static TrieNode put(TrieNode node, Entry entry, int shift, Equivalence<Object> equivalence) {
+			if (node == null) {
+				return new TrieNode(1 << ((entry.hash >>> shift) & MASK), 0, new Object[] {entry});
+			} else if (node.collision) {
+				if (node.hash == entry.hash) {
+					final Object[] array = node.array;
+					for (int i = 0; i < array.length; i++) {
+						if (eq(((Entry) array[i]).key, entry.key, equivalence)) {
+							final Object[] newArray = array.clone();
+							newArray[i] = entry;
+							return collision(node.hash, newArray);
+						}
+					}
+					final Object[] newArray = new Object[array.length + 1];
+					System.arraycopy(array, 0, newArray, 0, array.length);
+					newArray[array.length] = entry;
+					return collision(node.hash, newArray);
+				}// else
+				// Nesting the collision node into a bitmap node
+				final TrieNode nesting = new TrieNode(1 << ((node.hash >>> shift) & MASK), 0, new Object[] {node});
+				return put(nesting, entry, shift, equivalence);
+			}// else
+			final int bit = 1 << ((entry.hash >>> shift) & MASK);
+			final int index = Integer.bitCount(node.bitmap & (bit - 1));
+			final Object[] array = node.array;
+			if ((node.bitmap & bit) == 0) {
+				final Object[] newArray = new Object[array.length + 1];
+				System.arraycopy(array, 0, newArray, 0, index);
+				newArray[index] = entry;
+				System.arraycopy(array, index, newArray, index + 1, array.length - index);
+				return new TrieNode(node.bitmap | bit, 0, newArray);
+			}// else
+			final Object o = array[index];
+			final Object newChild;
+			if (o instanceof Entry) {
+				final Entry existing = (Entry) o;
+				if (existing.hash == entry.hash && eq(existing.key, entry.key, equivalence)) {
+					newChild = entry;
+				} else if (existing.hash == entry.hash) {
+					newChild = collision(entry.hash, new Object[] {existing, entry});
+				} else {
+					newChild = put(put(null, existing, shift + BITS, equivalence), entry, shift + BITS, equivalence);
+				}
+			} else {
+				newChild = put((TrieNode) o, entry, shift + BITS, equivalence);
+			}
+			final Object[] newArray = array.clone();
+			newArray[index] = newChild;
+			return new TrieNode(node.bitmap, 0, newArray);
+		}
+
+		static TrieNode remove(TrieNode node, Object key, int hash, int shift, Equivalence<Object> equivalence) {
+			if (node == null) {
+				return null;
+			} else if (node.collision) {
+				if (node.hash != hash) {
+					return node;
+				}// else
+				final Object[] array = node.array;
+				for (int i = 0; i < array.length; i++) {
+					if (eq(((Entry) array[i]).key, key, equivalence)) {
+						final Object[] newArray = new Object[array.length - 1];
+						System.arraycopy(array, 0, newArray, 0, i);
+						System.arraycopy(array, i + 1, newArray, i, newArray.length - i);
+						return collision(hash, newArray);
+					}
+				}
+				return node;
+			}// else
+			final int bit = 1 << ((hash >>> shift) & MASK);
+			if ((node.bitmap & bit) == 0) {
+				return node;
+			}// else
+			final int index = Integer.bitCount(node.bitmap & (bit - 1));
+			final Object[] array = node.array;
+			final Object o = array[index];
+			Object newChild;
+			if (o instanceof Entry) {
+				final Entry entry = (Entry) o;
+				if (entry.hash != hash || !eq(entry.key, key, equivalence)) {
+					return node;
+				}// else
+				newChild = null;
+			} else {
+				final TrieNode child = (TrieNode) o;
+				final TrieNode newNode = remove(child, key, hash, shift + BITS, equivalence);
+				if (newNode == child) {
+					return node;
+				}// else
+				newChild = newNode;
+				if (newNode != null && newNode.array.length == 1 && newNode.array[0] instanceof Entry) {
+					// Pulling up the last entry of the child
+					newChild = newNode.array[0];
+				} else if (newNode != null && newNode.array.length == 0) {
+					newChild = null;
+				}
+			}
+			if (newChild != null) {
+				final Object[] newArray = array.clone();
+				newArray[index] = newChild;
+				return new TrieNode(node.bitmap, 0, newArray);
+			} else if (array.length == 1) {
+				return null;
+			}// else
+			final Object[] newArray = new Object[array.length - 1];
+			System.arraycopy(array, 0, newArray, 0, index);
+			System.arraycopy(array, index + 1, newArray, index, newArray.length - index);
+			return new TrieNode(node.bitmap & ~bit, 0, newArray);
+		}
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits an index range {@code [0, length)} into fork-join tasks.
+ * <p>
+ * The range is halved until the sub-ranges are shorter than a leaf length chosen from
+ * the parallelism of the pool, and each leaf is handed to a callback working on its
+ * {@code [begin, end)} bounds. Ranges too short to be worth splitting, or pools without
+ * parallelism, are processed by the calling thread.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class RangeTasks {
+
+	/**
+	 * Length under which a range is processed by the calling thread.
+	 */
+	static final int MIN_PARALLEL_LENGTH = 1 << 16;
+
+	/**
+	 * Minimum length of a leaf range.
+	 */
+	private static final int MIN_LEAF_LENGTH = 1 << 12;
+
+	/**
+	 * Action on the indexes of a range.
+	 */
+	interface RangeAction {
+
+		void apply(int begin, int end);
+	}
+
+	/**
+	 * Count over the indexes of a range.
+	 */
+	interface RangeCount {
+
+		int count(int begin, int end);
+	}
+
+	/**
+	 * Search in the indexes of a range, returning the first index found or {@code -1}.
+	 */
+	interface RangeSearch {
+
+		int search(int begin, int end);
+	}
+
+	/**
+	 * Indicates if a range of the given length should be split into tasks of the given
+	 * pool.
+	 *
+	 * @param pool The pool.
+	 * @param length The length of the range.
+	 * @return {@code true} if the range should be split.
+	 */
+	static boolean isParallel(ForkJoinPool pool, int length) {
+		return pool.getParallelism() > 1 && length >= MIN_PARALLEL_LENGTH;
+	}
+
+	/**
+	 * Returns the length of the leaves a range of the given length is split into, giving a
+	 * few leaves per worker of the pool so that the work can be balanced.
+	 *
+	 * @param pool The pool.
+	 * @param length The length of the range.
+	 * @return the length of the leaves.
+	 */
+	static int leafLength(ForkJoinPool pool, int length) {
+		return Math.max(MIN_LEAF_LENGTH, length / (pool.getParallelism() << 2));
+	}
+
+	/**
+	 * Applies the given action on the range {@code [0, length)}.
+	 *
+	 * @param pool The pool running the tasks.
+	 * @param length The length of the range.
+	 * @param action The action.
+	 */
+	static void forEach(ForkJoinPool pool, int length, RangeAction action) {
+		if (isParallel(pool, length)) {
+			forEach(pool, length, leafLength(pool, length), action);
+		} else {
+			action.apply(0, length);
+		}
+	}
+
+	/**
+	 * Applies the given action on the range {@code [0, length)} split into leaves of at
+	 * most {@code leafLength} indexes, whatever the length of the range.
+	 *
+	 * @param pool The pool running the tasks.
+	 * @param length The length of the range.
+	 * @param leafLength The maximum length of the leaves.
+	 * @param action The action.
+	 */
+	static void forEach(ForkJoinPool pool, int length, int leafLength, RangeAction action) {
+		if (length > leafLength) {
+			pool.invoke(new ActionTask(action, leafLength, 0, length));
+		} else {
+			action.apply(0, length);
+		}
+	}
+
+	/**
+	 * Sums the counts of the given counter over the range {@code [0, length)}.
+	 *
+	 * @param pool The pool running the tasks.
+	 * @param length The length of the range.
+	 * @param counter The counter.
+	 * @return the total count.
+	 */
+	static int count(ForkJoinPool pool, int length, RangeCount counter) {
+		if (isParallel(pool, length)) {
+			return pool.invoke(new CountTask(counter, leafLength(pool, length), 0, length));
+		}// else
+		return counter.count(0, length);
+	}
+
+	/**
+	 * Returns the lowest index of the range {@code [0, length)} found by the given search,
+	 * or {@code -1}.
+	 * <p>
+	 * The leaves located after an index already found are skipped.
+	 *
+	 * @param pool The pool running the tasks.
+	 * @param length The length of the range.
+	 * @param search The search.
+	 * @return the lowest index found or {@code -1}.
+	 */
+	static int findFirst(ForkJoinPool pool, int length, RangeSearch search) {
+		if (isParallel(pool, length)) {
+			final AtomicInteger found = new AtomicInteger(length);
+			pool.invoke(new SearchTask(search, found, leafLength(pool, length), 0, length));
+			final int index = found.get();
+			return index < length ? index : -1;
+		}// else
+		return search.search(0, length);
+	}
+
+	private static final class ActionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 498945938642050647L;
+
+		private final RangeAction action;
+
+		private final int leafLength;
+
+		private final int begin;
+
+		private final int end;
+
+		ActionTask(RangeAction action, int leafLength, int begin, int end) {
+			this.action = action;
+			this.leafLength = leafLength;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - begin <= leafLength) {
+				action.apply(begin, end);
+			} else {
+				final int middle = (begin + end) >>> 1;
+				invokeAll(new ActionTask(action, leafLength, begin, middle), new ActionTask(action,
+						leafLength, middle, end));
+			}
+		}
+	}
+
+	private static final class CountTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 8358708663123833670L;
+
+		private final RangeCount counter;
+
+		private final int leafLength;
+
+		private final int begin;
+
+		private final int end;
+
+		CountTask(RangeCount counter, int leafLength, int begin, int end) {
+			this.counter = counter;
+			this.leafLength = leafLength;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (end - begin <= leafLength) {
+				return counter.count(begin, end);
+			}// else
+			final int middle = (begin + end) >>> 1;
+			final CountTask right = new CountTask(counter, leafLength, middle, end);
+			right.fork();
+			final int left = new CountTask(counter, leafLength, begin, middle).compute();
+			return left + right.join();
+		}
+	}
+
+	private static final class SearchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1213154408943535407L;
+
+		private final RangeSearch search;
+
+		private final AtomicInteger found;
+
+		private final int leafLength;
+
+		private final int begin;
+
+		private final int end;
+
+		SearchTask(RangeSearch search, AtomicInteger found, int leafLength, int begin, int end) {
+			this.search = search;
+			this.found = found;
+			this.leafLength = leafLength;
+			this.begin = begin;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (begin >= found.get()) {
+				return;
+			} else if (end - begin <= leafLength) {
+				final int index = search.search(begin, end);
+				if (index >= 0) {
+					int current;
+					while (index < (current = found.get()) && !found.compareAndSet(current, index)) {
+						// Retrying until the lowest index is kept
+					}
+				}
+			} else {
+				final int middle = (begin + end) >>> 1;
+				invokeAll(new SearchTask(search, found, leafLength, begin, middle), new SearchTask(search,
+						found, leafLength, middle, end));
+			}
+		}
+	}
+
+	// Suppressing default constructor, ensuring non-instantiability
+	private RangeTasks() {}
+}
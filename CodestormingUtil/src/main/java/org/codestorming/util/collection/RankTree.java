@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.Comparator;
+
+/**
+ * Sequence of nodes supporting insertions, removals and lookups by index in logarithmic
+ * time.
+ * <p>
+ * The sequence is a treap ordered by index: each node knows the size of its subtree, so
+ * that the nodes can be found by index, and its parent, so that the index of a node can be
+ * computed from the node itself. Each node can also be <em>selected</em>, the number of
+ * selected nodes of each subtree giving the rank of a node among the selected ones.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class RankTree<T> {
+
+	static final class Node<T> {
+
+		T value;
+
+		private boolean selected;
+
+		private Node<T> left;
+
+		private Node<T> right;
+
+		private Node<T> parent;
+
+		private int priority;
+
+		private int size;
+
+		private int selectedCount;
+
+		Node(T value) {
+			this.value = value;
+		}
+
+		boolean isSelected() {
+			return selected;
+		}
+	}
+
+	private Node<T> root;
+
+	private int seed = 0x2545F491;
+
+	/**
+	 * Results of the last split.
+	 */
+	private Node<T> splitLeft;
+
+	private Node<T> splitRight;
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return the number of nodes.
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns the number of selected nodes.
+	 *
+	 * @return the number of selected nodes.
+	 */
+	int selectedCount() {
+		return root == null ? 0 : root.selectedCount;
+	}
+
+	/**
+	 * Removes all the nodes.
+	 */
+	void clear() {
+		root = null;
+	}
+
+	/**
+	 * Returns the node at the given index.
+	 *
+	 * @param index The index of the node.
+	 * @return the node at the given index.
+	 * @throws IndexOutOfBoundsException if the index is out of the sequence.
+	 */
+	Node<T> node(int index) {
+		checkIndex(index, size());
+		Node<T> node = root;
+		while (true) {
+			final int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Returns the selected node of the given rank among the selected nodes.
+	 *
+	 * @param rank The rank of the node among the selected ones.
+	 * @return the selected node.
+	 * @throws IndexOutOfBoundsException if the rank is out of the selected nodes.
+	 */
+	Node<T> selected(int rank) {
+		checkIndex(rank, selectedCount());
+		Node<T> node = root;
+		while (true) {
+			final int leftCount = selectedCount(node.left);
+			if (rank < leftCount) {
+				node = node.left;
+			} else if (rank == leftCount && node.selected) {
+				return node;
+			} else {
+				rank -= leftCount + (node.selected ? 1 : 0);
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the given node.
+	 *
+	 * @param node A node of this tree.
+	 * @return the index of the node.
+	 */
+	int index(Node<T> node) {
+		int index = size(node.left);
+		for (Node<T> parent = node.parent; parent != null; node = parent, parent = node.parent) {
+			if (node == parent.right) {
+				index += size(parent.left) + 1;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the number of selected nodes before the given node.
+	 *
+	 * @param node A node of this tree.
+	 * @return the number of selected nodes before the node.
+	 */
+	int selectedIndex(Node<T> node) {
+		int count = selectedCount(node.left);
+		for (Node<T> parent = node.parent; parent != null; node = parent, parent = node.parent) {
+			if (node == parent.right) {
+				count += selectedCount(parent.left) + (parent.selected ? 1 : 0);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of selected nodes before the given index.
+	 *
+	 * @param index The index, between {@code 0} and {@link #size()} included.
+	 * @return the number of selected nodes before the index.
+	 */
+	int selectedBefore(int index) {
+		int count = 0;
+		Node<T> node = root;
+		while (node != null) {
+			final int leftSize = size(node.left);
+			if (index <= leftSize) {
+				node = node.left;
+			} else {
+				count += selectedCount(node.left) + (node.selected ? 1 : 0);
+				index -= leftSize + 1;
+				node = node.right;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the index following the last node whose value is not greater than the given
+	 * one, the values of the nodes being sorted for the given comparator.
+	 *
+	 * @param value The value.
+	 * @param comparator The comparator of the values.
+	 * @return the index at which the value can be inserted, after its equals.
+	 */
+	int upperBound(T value, Comparator<? super T> comparator) {
+		int index = 0;
+		Node<T> node = root;
+		while (node != null) {
+			if (comparator.compare(value, node.value) < 0) {
+				node = node.left;
+			} else {
+				index += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Inserts a node with the given value at the given index.
+	 *
+	 * @param index The index of the new node.
+	 * @param value The value of the node.
+	 * @param selected Whether the node is selected.
+	 * @return the new node.
+	 */
+	Node<T> insert(int index, T value, boolean selected) {
+		final Node<T> node = new Node<T>(value);
+		node.selected = selected;
+		insert(index, node);
+		return node;
+	}
+
+	/**
+	 * Inserts the given detached node at the given index.
+	 *
+	 * @param index The index of the node.
+	 * @param node The node, removed from this tree or new.
+	 */
+	void insert(int index, Node<T> node) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}// else
+		node.left = null;
+		node.right = null;
+		node.priority = nextPriority();
+		update(node);
+		split(root, index);
+		final Node<T> right = splitRight;
+		root = merge(merge(splitLeft, node), right);
+		root.parent = null;
+	}
+
+	/**
+	 * Removes the node at the given index.
+	 *
+	 * @param index The index of the node.
+	 * @return the removed node, which can be inserted back.
+	 */
+	Node<T> remove(int index) {
+		checkIndex(index, size());
+		split(root, index);
+		final Node<T> left = splitLeft;
+		split(splitRight, 1);
+		final Node<T> node = splitLeft;
+		root = merge(left, splitRight);
+		if (root != null) {
+			root.parent = null;
+		}
+		node.parent = null;
+		return node;
+	}
+
+	/**
+	 * Selects or unselects the given node.
+	 *
+	 * @param node A node of this tree.
+	 * @param selected Whether the node is selected.
+	 */
+	void setSelected(Node<T> node, boolean selected) {
+		if (node.selected != selected) {
+			node.selected = selected;
+			final int delta = selected ? 1 : -1;
+			for (Node<T> n = node; n != null; n = n.parent) {
+				n.selectedCount += delta;
+			}
+		}
+	}
+
+	/**
+	 * Splits the given subtree, its first {@code count} nodes going to {@code splitLeft} and
+	 * the others to {@code splitRight}.
+	 */
+	private void split(Node<T> node, int count) {
+		if (node == null) {
+			splitLeft = null;
+			splitRight = null;
+		} else if (size(node.left) >= count) {
+			split(node.left, count);
+			node.left = splitRight;
+			update(node);
+			splitRight = node;
+		} else {
+			split(node.right, count - size(node.left) - 1);
+			node.right = splitLeft;
+			update(node);
+			splitLeft = node;
+		}
+	}
+
+	private Node<T> merge(Node<T> left, Node<T> right) {
+		if (left == null) {
+			return right;
+		} else if (right == null) {
+			return left;
+		} else if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		} else {
+			right.left = merge(left, right.left);
+			update(right);
+			return right;
+		}
+	}
+
+	private void update(Node<T> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		node.selectedCount = (node.selected ? 1 : 0) + selectedCount(node.left) + selectedCount(node.right);
+		if (node.left != null) {
+			node.left.parent = node;
+		}
+		if (node.right != null) {
+			node.right.parent = node;
+		}
+	}
+
+	private int nextPriority() {
+		// Xorshift
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static int selectedCount(Node<?> node) {
+		return node == null ? 0 : node.selectedCount;
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+/**
+ * Set algebra over sorted {@code int} and {@code long} arrays.
+ * <p>
+ * The operations read arrays sorted in ascending order and write their result, sorted as
+ * well, at the beginning of an output buffer supplied by the caller, returning the number
+ * of values written. They neither hash nor box the values, and allocate nothing but the
+ * heap of the k-way merges, so that the same buffers can be reused from call to call.
+ * <p>
+ * The arrays are not checked to be sorted: the result of an operation on unsorted arrays
+ * is undefined.
+ * 
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ * @see Arrays2
+ */
+public final class SortedArrays {
+
+	private static final String END_INDEX_INVALID = "The end index cannot be lower than the begin index.";
+
+	/**
+	 * Merges the given sorted arrays into the given output buffer, keeping every element.
+	 * <p>
+	 * The arrays are merged at once, by means of a heap of their current elements, instead
+	 * of pair by pair.
+	 * 
+	 * @param arrays The arrays to merge, each one sorted in ascending order.
+	 * @param output The output buffer, at least as long as all the arrays together.
+	 * @return the number of elements written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int merge(int[][] arrays, int[] output) {
+		return merge(arrays, output, false);
+	}
+
+	/**
+	 * Merges the given sorted arrays into the given output buffer, keeping every element.
+	 * <p>
+	 * The arrays are merged at once, by means of a heap of their current elements, instead
+	 * of pair by pair.
+	 * 
+	 * @param arrays The arrays to merge, each one sorted in ascending order.
+	 * @param output The output buffer, at least as long as all the arrays together.
+	 * @return the number of elements written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int merge(long[][] arrays, long[] output) {
+		return merge(arrays, output, false);
+	}
+
+	/**
+	 * Writes the union of the given sorted arrays into the given output buffer, each
+	 * distinct value once.
+	 * <p>
+	 * The arrays are merged at once, by means of a heap of their current elements, instead
+	 * of pair by pair. They may contain duplicates.
+	 * 
+	 * @param arrays The arrays, each one sorted in ascending order.
+	 * @param output The output buffer, at least as long as the number of distinct values.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int union(int[][] arrays, int[] output) {
+		return merge(arrays, output, true);
+	}
+
+	/**
+	 * Writes the union of the given sorted arrays into the given output buffer, each
+	 * distinct value once.
+	 * <p>
+	 * The arrays are merged at once, by means of a heap of their current elements, instead
+	 * of pair by pair. They may contain duplicates.
+	 * 
+	 * @param arrays The arrays, each one sorted in ascending order.
+	 * @param output The output buffer, at least as long as the number of distinct values.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int union(long[][] arrays, long[] output) {
+		return merge(arrays, output, true);
+	}
+
+	/**
+	 * Writes the union of the two given sorted arrays into the given output buffer, each
+	 * distinct value once.
+	 * 
+	 * @param a The first array, sorted in ascending order.
+	 * @param b The second array, sorted in ascending order.
+	 * @param output The output buffer, at least as long as the number of distinct values.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int union(int[] a, int[] b, int[] output) {
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			final int value;
+			if (j == b.length || i < a.length && a[i] < b[j]) {
+				value = a[i++];
+			} else if (i == a.length || b[j] < a[i]) {
+				value = b[j++];
+			} else {
+				value = a[i++];
+				j++;
+			}
+			if (count == 0 || output[count - 1] != value) {
+				output[count++] = value;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the union of the two given sorted arrays into the given output buffer, each
+	 * distinct value once.
+	 * 
+	 * @param a The first array, sorted in ascending order.
+	 * @param b The second array, sorted in ascending order.
+	 * @param output The output buffer, at least as long as the number of distinct values.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int union(long[] a, long[] b, long[] output) {
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			final long value;
+			if (j == b.length || i < a.length && a[i] < b[j]) {
+				value = a[i++];
+			} else if (i == a.length || b[j] < a[i]) {
+				value = b[j++];
+			} else {
+				value = a[i++];
+				j++;
+			}
+			if (count == 0 || output[count - 1] != value) {
+				output[count++] = value;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the values present in both given sorted arrays into the given output buffer.
+	 * <p>
+	 * Each value of the shortest array is searched in the longest one by galloping from the
+	 * position of the previous value, so that intersecting a small array with a large one
+	 * costs about {@code m log(n / m)} comparisons.
+	 * 
+	 * @param a The first array, sorted in ascending order without duplicates.
+	 * @param b The second array, sorted in ascending order without duplicates.
+	 * @param output The output buffer, at least as long as the shortest array.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int intersection(int[] a, int[] b, int[] output) {
+		final int[] small = a.length <= b.length ? a : b;
+		final int[] large = small == a ? b : a;
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < small.length && j < large.length; i++) {
+			final int value = small[i];
+			j = gallop(large, j, value);
+			if (j < large.length && large[j] == value) {
+				output[count++] = value;
+				j++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the values present in both given sorted arrays into the given output buffer.
+	 * <p>
+	 * Each value of the shortest array is searched in the longest one by galloping from the
+	 * position of the previous value, so that intersecting a small array with a large one
+	 * costs about {@code m log(n / m)} comparisons.
+	 * 
+	 * @param a The first array, sorted in ascending order without duplicates.
+	 * @param b The second array, sorted in ascending order without duplicates.
+	 * @param output The output buffer, at least as long as the shortest array.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int intersection(long[] a, long[] b, long[] output) {
+		final long[] small = a.length <= b.length ? a : b;
+		final long[] large = small == a ? b : a;
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < small.length && j < large.length; i++) {
+			final long value = small[i];
+			j = gallop(large, j, value);
+			if (j < large.length && large[j] == value) {
+				output[count++] = value;
+				j++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the values of the first given sorted array that are not in the second one into
+	 * the given output buffer.
+	 * <p>
+	 * Each value of {@code a} is searched in {@code b} by galloping from the position of the
+	 * previous value.
+	 * 
+	 * @param a The array, sorted in ascending order without duplicates.
+	 * @param b The values to exclude, sorted in ascending order without duplicates.
+	 * @param output The output buffer, at least as long as {@code a}.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int difference(int[] a, int[] b, int[] output) {
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < a.length; i++) {
+			final int value = a[i];
+			j = gallop(b, j, value);
+			if (j == b.length) {
+				System.arraycopy(a, i, output, count, a.length - i);
+				return count + a.length - i;
+			} else if (b[j] != value) {
+				output[count++] = value;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the values of the first given sorted array that are not in the second one into
+	 * the given output buffer.
+	 * <p>
+	 * Each value of {@code a} is searched in {@code b} by galloping from the position of the
+	 * previous value.
+	 * 
+	 * @param a The array, sorted in ascending order without duplicates.
+	 * @param b The values to exclude, sorted in ascending order without duplicates.
+	 * @param output The output buffer, at least as long as {@code a}.
+	 * @return the number of values written at the beginning of {@code output}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code output} is too short.
+	 * @since 1.7
+	 */
+	public static int difference(long[] a, long[] b, long[] output) {
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < a.length; i++) {
+			final long value = a[i];
+			j = gallop(b, j, value);
+			if (j == b.length) {
+				System.arraycopy(a, i, output, count, a.length - i);
+				return count + a.length - i;
+			} else if (b[j] != value) {
+				output[count++] = value;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Removes the duplicates of the given sorted array, moving the distinct values to its
+	 * beginning.
+	 * 
+	 * @param array The array, sorted in ascending order.
+	 * @return the number of distinct values, now at the beginning of {@code array}.
+	 * @since 1.7
+	 */
+	public static int deduplicate(int[] array) {
+		return deduplicate(array, 0, array.length);
+	}
+
+	/**
+	 * Removes the duplicates of the given sorted array, moving the distinct values to its
+	 * beginning.
+	 * 
+	 * @param array The array, sorted in ascending order.
+	 * @return the number of distinct values, now at the beginning of {@code array}.
+	 * @since 1.7
+	 */
+	public static int deduplicate(long[] array) {
+		return deduplicate(array, 0, array.length);
+	}
+
+	/**
+	 * Removes the duplicates of the given sorted range of the given array, moving the
+	 * distinct values to the beginning of the range.
+	 * 
+	 * @param array The array.
+	 * @param begin The index of the first element of the range, sorted in ascending order.
+	 * @param end The index of the last element of the range plus {@code 1}.
+	 * @return the number of distinct values, now starting at {@code begin}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static int deduplicate(int[] array, int begin, int end) {
+		checkRange(array.length, begin, end);
+		if (begin == end) {
+			return 0;
+		}// else
+		int last = begin;
+		for (int i = begin + 1; i < end; i++) {
+			if (array[i] != array[last]) {
+				array[++last] = array[i];
+			}
+		}
+		return last + 1 - begin;
+	}
+
+	/**
+	 * Removes the duplicates of the given sorted range of the given array, moving the
+	 * distinct values to the beginning of the range.
+	 * 
+	 * @param array The array.
+	 * @param begin The index of the first element of the range, sorted in ascending order.
+	 * @param end The index of the last element of the range plus {@code 1}.
+	 * @return the number of distinct values, now starting at {@code begin}.
+	 * @throws ArrayIndexOutOfBoundsException if {@code begin < 0} or
+	 *         {@code end > array.length}.
+	 * @throws IllegalArgumentException if {@code end < begin}.
+	 * @since 1.7
+	 */
+	public static int deduplicate(long[] array, int begin, int end) {
+		checkRange(array.length, begin, end);
+		if (begin == end) {
+			return 0;
+		}// else
+		int last = begin;
+		for (int i = begin + 1; i < end; i++) {
+			if (array[i] != array[last]) {
+				array[++last] = array[i];
+			}
+		}
+		return last + 1 - begin;
+	}
+
+	private static int merge(int[][] arrays, int[] output, boolean distinct) {
+		// Min-heap of the indexes of the non-exhausted arrays, ordered by their current value
+		final int[] heap = new int[arrays.length];
+		final int[] positions = new int[arrays.length];
+		int size = 0;
+		for (int k = 0; k < arrays.length; k++) {
+			if (arrays[k].length > 0) {
+				heap[size++] = k;
+			}
+		}
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(arrays, positions, heap, size, i);
+		}
+		int count = 0;
+		while (size > 0) {
+			final int k = heap[0];
+			final int value = arrays[k][positions[k]++];
+			if (!distinct || count == 0 || output[count - 1] != value) {
+				output[count++] = value;
+			}
+			if (positions[k] == arrays[k].length) {
+				heap[0] = heap[--size];
+			}
+			if (size > 0) {
+				siftDown(arrays, positions, heap, size, 0);
+			}
+		}
+		return count;
+	}
+
+	private static void siftDown(int[][] arrays, int[] positions, int[] heap, int size, int i) {
+		final int k = heap[i];
+		final int value = arrays[k][positions[k]];
+		final int half = size >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			int childValue = arrays[heap[child]][positions[heap[child]]];
+			final int right = child + 1;
+			if (right < size) {
+				final int rightValue = arrays[heap[right]][positions[heap[right]]];
+				if (rightValue < childValue) {
+					child = right;
+					childValue = rightValue;
+				}
+			}
+			if (value <= childValue) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = k;
+	}
+
+	/**
+	 * Returns the first index from {@code from} at which the value of the given sorted array
+	 * is not lower than the given key, or the length of the array.
+	 * <p>
+	 * The index is bracketed by steps doubling from {@code from}, then searched by
+	 * dichotomy.
+	 */
+	private static int gallop(int[] array, int from, int key) {
+		if (from >= array.length || array[from] >= key) {
+			return from;
+		}// else
+		// array[low] < key <= array[high], high being the length when the key is beyond
+		int low = from;
+		int high;
+		int step = 1;
+		while (true) {
+			if (step >= array.length - low) {
+				high = array.length;
+				break;
+			}
+			high = low + step;
+			if (array[high] >= key) {
+				break;
+			}
+			low = high;
+			step <<= 1;
+		}
+		low++;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (array[middle] < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int merge(long[][] arrays, long[] output, boolean distinct) {
+		// Min-heap of the indexes of the non-exhausted arrays, ordered by their current value
+		final int[] heap = new int[arrays.length];
+		final int[] positions = new int[arrays.length];
+		int size = 0;
+		for (int k = 0; k < arrays.length; k++) {
+			if (arrays[k].length > 0) {
+				heap[size++] = k;
+			}
+		}
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(arrays, positions, heap, size, i);
+		}
+		int count = 0;
+		while (size > 0) {
+			final int k = heap[0];
+			final long value = arrays[k][positions[k]++];
+			if (!distinct || count == 0 || output[count - 1] != value) {
+				output[count++] = value;
+			}
+			if (positions[k] == arrays[k].length) {
+				heap[0] = heap[--size];
+			}
+			if (size > 0) {
+				siftDown(arrays, positions, heap, size, 0);
+			}
+		}
+		return count;
+	}
+
+	private static void siftDown(long[][] arrays, int[] positions, int[] heap, int size, int i) {
+		final int k = heap[i];
+		final long value = arrays[k][positions[k]];
+		final int half = size >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			long childValue = arrays[heap[child]][positions[heap[child]]];
+			final int right = child + 1;
+			if (right < size) {
+				final long rightValue = arrays[heap[right]][positions[heap[right]]];
+				if (rightValue < childValue) {
+					child = right;
+					childValue = rightValue;
+				}
+			}
+			if (value <= childValue) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = k;
+	}
+
+	/**
+	 * Returns the first index from {@code from} at which the value of the given sorted array
+	 * is not lower than the given key, or the length of the array.
+	 * <p>
+	 * The index is bracketed by steps doubling from {@code from}, then searched by
+	 * dichotomy.
+	 */
+	private static int gallop(long[] array, int from, long key) {
+		if (from >= array.length || array[from] >= key) {
+			return from;
+		}// else
+		// array[low] < key <= array[high], high being the length when the key is beyond
+		int low = from;
+		int high;
+		int step = 1;
+		while (true) {
+			if (step >= array.length - low) {
+				high = array.length;
+				break;
+			}
+			high = low + step;
+			if (array[high] >= key) {
+				break;
+			}
+			low = high;
+			step <<= 1;
+		}
+		low++;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (array[middle] < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static void checkRange(int length, int begin, int end) {
+		if (begin < 0) {
+			throw new ArrayIndexOutOfBoundsException(begin);
+		} else if (end > length) {
+			throw new ArrayIndexOutOfBoundsException(end);
+		} else if (end < begin) {
+			throw new IllegalArgumentException(END_INDEX_INVALID);
+		}
+	}
+
+	// Suppressing default constructor, ensuring non-instantiability
+	private SortedArrays() {}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * View of the elements of a source list sorted by a comparator.
+ * <p>
+ * The sorted elements are kept in a {@link RankTree}, in which a new element is inserted
+ * after its equals by a binary search. A second tree, in the order of the source, references
+ * the node of each element in the sorted one, so that the element removed or replaced at an
+ * index of the source is found without comparison. A move in the source does not change the
+ * view.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+final class SortedList<E> extends SourceView<E, E> {
+
+	private final Comparator<? super E> comparator;
+
+	private final RankTree<E> sorted = new RankTree<E>();
+
+	private final RankTree<RankTree.Node<E>> positions = new RankTree<RankTree.Node<E>>();
+
+	SortedList(ObservableList<E> source, Comparator<? super E> comparator) {
+		super(source);
+		if (comparator == null) {
+			throw new NullPointerException("The comparator cannot be null");
+		}// else
+		this.comparator = comparator;
+		attach();
+	}
+
+	@Override
+	public E get(int index) {
+		return sorted.node(index).value;
+	}
+
+	@Override
+	public int size() {
+		return sorted.size();
+	}
+
+	@Override
+	protected void load(List<E> elements) {
+		for (E element : elements) {
+			final RankTree.Node<E> node = sorted.insert(sorted.upperBound(element, comparator), element, false);
+			positions.insert(positions.size(), node, false);
+		}
+	}
+
+	@Override
+	protected void unload() {
+		sorted.clear();
+		positions.clear();
+	}
+
+	@Override
+	protected void apply(CollectionChange<E> change) {
+		final int index = change.getIndex();
+		final List<E> values = change.getValues();
+		switch (change.getType()) {
+		case ADD:
+			for (int i = 0; i < values.size(); i++) {
+				final E value = values.get(i);
+				final int sortedIndex = sorted.upperBound(value, comparator);
+				positions.insert(index + i, sorted.insert(sortedIndex, value, false), false);
+				fire(CollectionChange.added(sortedIndex, Collections.singletonList(value)));
+			}
+			break;
+		case REMOVE:
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = positions.remove(index).value;
+				final int sortedIndex = sorted.index(node);
+				sorted.remove(sortedIndex);
+				fire(CollectionChange.removed(sortedIndex, Collections.singletonList(node.value)));
+			}
+			break;
+		case REPLACE:
+			for (int i = 0; i < values.size(); i++) {
+				final RankTree.Node<E> node = positions.node(index + i).value;
+				final E oldValue = node.value;
+				final E newValue = values.get(i);
+				final int oldIndex = sorted.index(node);
+				sorted.remove(oldIndex);
+				final int newIndex = sorted.upperBound(newValue, comparator);
+				node.value = newValue;
+				sorted.insert(newIndex, node);
+				if (newIndex == oldIndex) {
+					fire(CollectionChange.replaced(newIndex, Collections.singletonList(oldValue),
+							Collections.singletonList(newValue)));
+				} else {
+					fire(CollectionChange.removed(oldIndex, Collections.singletonList(oldValue)));
+					fire(CollectionChange.added(newIndex, Collections.singletonList(newValue)));
+				}
+			}
+			break;
+		case MOVE: {
+			final int fromIndex = change.getFromIndex();
+			if (index > fromIndex) {
+				for (int i = 0; i < values.size(); i++) {
+					positions.insert(index + values.size() - 1, positions.remove(fromIndex));
+				}
+			} else {
+				for (int i = 0; i < values.size(); i++) {
+					positions.insert(index + i, positions.remove(fromIndex + i));
+				}
+			}
+			break;
+		}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ObservableListView} derived from a single source list.
+ * <p>
+ * Each notification of the source is applied change by change in a batch of the view, so
+ * that the view notifies its own changes at once. A change without index cannot be located
+ * in the view, which is then rebuilt from the whole source.
+ *
+ * @param <S> The type of the elements of the source.
+ * @param <E> The type of the elements of the view.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+abstract class SourceView<S, E> extends ObservableListView<E> {
+
+	protected final ObservableList<S> source;
+
+	/**
+	 * Listener of the source, distinct from the view since equal views would be registered
+	 * only once.
+	 */
+	private final CollectionChangeListener<S> sourceListener = new CollectionChangeListener<S>() {
+		@Override
+		public void onChange(ObservableCollection<S> source, Iterable<CollectionChange<S>> changes) {
+			SourceView.this.onChange(changes);
+		}
+	};
+
+	SourceView(ObservableList<S> source) {
+		if (source == null) {
+			throw new NullPointerException("The source list cannot be null");
+		}// else
+		this.source = source;
+	}
+
+	/**
+	 * Fills the view with the content of the source and starts listening to it.
+	 * <p>
+	 * Called by the constructors of the subclasses, once they are initialized.
+	 */
+	protected void attach() {
+		load(new ArrayList<S>(source));
+		source.addChangeListener(sourceListener);
+	}
+
+	@Override
+	public void dispose() {
+		source.removeChangeListener(sourceListener);
+	}
+
+	/**
+	 * Applies the given changes of the source to the view.
+	 *
+	 * @param changes The changes of the source.
+	 */
+	protected void onChange(Iterable<CollectionChange<S>> changes) {
+		beginBatch();
+		try {
+			for (CollectionChange<S> change : changes) {
+				if (!change.isIndexed()) {
+					reload();
+					break;
+				}// else
+				apply(change);
+			}
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Fills the empty view with the given elements of the source, without notifying it.
+	 *
+	 * @param elements The elements of the source.
+	 */
+	protected abstract void load(List<S> elements);
+
+	/**
+	 * Applies the given indexed change of the source to the view.
+	 *
+	 * @param change The change.
+	 */
+	protected abstract void apply(CollectionChange<S> change);
+
+	/**
+	 * Empties the view, without notifying it.
+	 */
+	protected abstract void unload();
+
+	/**
+	 * Rebuilds the view from the current content of the source.
+	 */
+	protected void reload() {
+		if (!isEmpty()) {
+			fire(CollectionChange.removed(0, new ArrayList<E>(this)));
+		}
+		unload();
+		load(new ArrayList<S>(source));
+		if (!isEmpty()) {
+			fire(CollectionChange.added(0, new ArrayList<E>(this)));
+		}
+	}
+
+	protected void fire(CollectionChange<E> change) {
+		fireChange(Collections.singletonList(change));
+	}
+}
@@ -0,0 +1,796 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.collection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link OrderedSet} implementation backed by an order statistic tree, for the workloads
+ * inserting in the middle of the set or reordering it often.
+ * <p>
+ * The elements are the nodes of a randomized balanced binary tree (treap) whose in-order
+ * traversal gives the order of the set, each node counting the nodes of its subtree. The
+ * same nodes are chained in a hash table, which gives the node of an element, and the
+ * index of a node is computed by walking up to the root. {@link #add(int, Object)},
+ * {@link #remove(int)}, {@link #get(int)}, {@link #indexOf(Object)} and
+ * {@link #move(int, int)} are then done in {@code O(log n)}, and {@link #contains(Object)}
+ * in constant time.
+ * <p>
+ * Unlike {@link OrderedHashSet}, this set does not implement
+ * {@link java.util.RandomAccess}: iterating with the iterators is much faster than with
+ * {@link #get(int)}.
+ * <p>
+ * The {@link #subList(int, int)} method and the {@link ListIterator}'s methods
+ * <em>set</em> and <em>add</em> are <strong>not supported</strong>. {@link #sort(Comparator)}
+ * and {@link #replaceAll(UnaryOperator)} do not rely on them.
+ *
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @see OrderedHashSet
+ * @since 1.7
+ */
+public class TreeOrderedSet<E> extends AbstractOrderedSet<E> implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = -2712604432925683650L;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Root of the tree.
+	 */
+	private transient Node<E> root;
+
+	/**
+	 * Hash table of the nodes, chained through {@link Node#nextInBucket}.
+	 * <p>
+	 * The length of the table is always a power of two.
+	 */
+	private transient Node<E>[] buckets;
+
+	/**
+	 * State of the generator of the node priorities.
+	 */
+	private transient int seed;
+
+	/**
+	 * Number of structural modifications, for the fail-fast iterators.
+	 */
+	private transient int modCount;
+
+	/**
+	 * The strategy hashing and comparing the elements.
+	 */
+	private final Equivalence<? super E> equivalence;
+
+	/**
+	 * Creates an empty {@code TreeOrderedSet}.
+	 */
+	public TreeOrderedSet() {
+		this(DEFAULT_CAPACITY, Equivalence.equality());
+	}
+
+	/**
+	 * Creates an empty {@code TreeOrderedSet} able to hold the given number of elements
+	 * without growing its hash table.
+	 *
+	 * @param initialCapacity The initial capacity.
+	 * @throws IllegalArgumentException if the initial capacity is negative.
+	 */
+	public TreeOrderedSet(int initialCapacity) {
+		this(initialCapacity, Equivalence.equality());
+	}
+
+	/**
+	 * Creates an empty {@code TreeOrderedSet} comparing its elements with the given
+	 * {@link Equivalence} instead of their {@code equals()} and {@code hashCode()} methods.
+	 * <p>
+	 * {@link #equals(Object)} and {@link #hashCode()} still follow the
+	 * {@link java.util.List} contract.
+	 *
+	 * @param initialCapacity The initial capacity.
+	 * @param equivalence The strategy hashing and comparing the elements.
+	 * @throws IllegalArgumentException if the initial capacity is negative.
+	 */
+	public TreeOrderedSet(int initialCapacity, Equivalence<? super E> equivalence) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		}// else
+		if (equivalence == null) {
+			throw new NullPointerException("equivalence cannot be null");
+		}// else
+		this.equivalence = equivalence;
+		init(initialCapacity);
+	}
+
+	/**
+	 * Creates a {@code TreeOrderedSet} containing the elements of the given collection, in
+	 * its iteration order.
+	 *
+	 * @param c The collection whose elements are to be placed into this set.
+	 */
+	public TreeOrderedSet(Collection<? extends E> c) {
+		this(c.size(), Equivalence.equality());
+		for (E e : c) {
+			add(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void init(int capacity) {
+		int length = DEFAULT_CAPACITY;
+		while (length < capacity + (capacity >>> 1) && length < 1 << 30) {
+			length <<= 1;
+		}
+		buckets = (Node<E>[]) new Node<?>[length];
+		root = null;
+		seed = 0x2545F491 ^ System.identityHashCode(this) | 1;
+	}
+
+	/**
+	 * Returns the strategy hashing and comparing the elements of this set.
+	 *
+	 * @return the {@link Equivalence} of this set.
+	 */
+	public Equivalence<? super E> getEquivalence() {
+		return equivalence;
+	}
+
+	/**
+	 * Moves the element at the index {@code from} so that it ends up at the index
+	 * {@code to}, shifting the elements in between by one.
+	 *
+	 * @param from Index of the element to move.
+	 * @param to Index at which the element is to be placed.
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of
+	 *         {@code [0, size())}.
+	 */
+	public void move(int from, int to) {
+		final int size = size();
+		if (from < 0 || from >= size || to < 0 || to >= size) {
+			throw new IndexOutOfBoundsException("From = " + from + ", To = " + to + ", Size = " + size);
+		}// else
+		if (from != to) {
+			final Node<E> node = select(from);
+			detach(node);
+			attach(node, to);
+			modCount++;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return nodeOf(o) != null;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		return select(index).element;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		final Node<E> node = nodeOf(o);
+		return node == null ? -1 : rank(node);
+	}
+
+	@Override
+	public boolean add(E e) {
+		return internalAdd(size(), e);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		internalAdd(index, element);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		boolean modified = false;
+		int insertionIndex = index;
+		for (E e : c) {
+			if (internalAdd(insertionIndex, e)) {
+				modified = true;
+				insertionIndex++;
+			}
+		}
+		return modified;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the given {@code element} already exists in this set, it will be
+	 * <strong>moved</strong> to the given index and the element at this index will be
+	 * <strong>removed</strong>. As the set loses one element, the moved element ends up
+	 * at {@code index - 1} if it was placed before {@code index}.
+	 */
+	@Override
+	public E set(int index, E element) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		final Node<E> node = select(index);
+		final E previousElement = node.element;
+		final int hash = hash(element);
+		final Node<E> existing = find(element, hash);
+		if (existing == node) {
+			// Replacing an element by an equal one
+			node.element = element;
+			return previousElement;
+		}// else
+		unlink(node);
+		if (existing != null) {
+			// Moving the existing node in place of the replaced one
+			detach(existing);
+			replace(node, existing);
+		} else {
+			node.element = element;
+			node.hash = hash;
+			link(node);
+		}
+		modCount++;
+		return previousElement;
+	}
+
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		final Node<E> node = select(index);
+		removeNode(node);
+		return node.element;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		final Node<E> node = nodeOf(o);
+		if (node == null) {
+			return false;
+		}// else
+		removeNode(node);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		boolean modified = false;
+		if (size() > c.size()) {
+			for (Object o : c) {
+				modified |= remove(o);
+			}
+		} else {
+			modified = super.removeAll(c);
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(buckets, null);
+		root = null;
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The sort is stable and rebuilds the tree from its nodes: no element is hashed again. If
+	 * the comparator throws an exception, this set is left unchanged.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super E> c) {
+		final Comparator<? super E> comparator = c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+		final Node<E>[] nodes = (Node<E>[]) new Node<?>[size()];
+		int i = 0;
+		for (Node<E> n = first(root); n != null; n = successor(n)) {
+			nodes[i++] = n;
+		}
+		Arrays.sort(nodes, new Comparator<Node<E>>() {
+			@Override
+			public int compare(Node<E> n1, Node<E> n2) {
+				return comparator.compare(n1.element, n2.element);
+			}
+		});
+		root = null;
+		for (i = 0; i < nodes.length; i++) {
+			attach(nodes[i], i);
+		}
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The results are kept in the order of the replaced elements, a result equivalent to a
+	 * previous one being dropped as when adding them to an empty set. If the operator throws
+	 * an exception, this set is left unchanged.
+	 *
+	 * @since 1.7
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<E> operator) {
+		if (operator == null) {
+			throw new NullPointerException();
+		}// else
+		@SuppressWarnings("unchecked")
+		final E[] results = (E[]) new Object[size()];
+		int i = 0;
+		for (E e : this) {
+			results[i++] = operator.apply(e);
+		}
+		clear();
+		for (E result : results) {
+			add(result);
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new TreeIterator(first(root), 0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		final int size = size();
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}// else
+		return new TreeIterator(index == size ? null : select(index), index);
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			@SuppressWarnings("unchecked")
+			final TreeOrderedSet<E> clone = (TreeOrderedSet<E>) super.clone();
+			clone.init(size());
+			clone.modCount = 0;
+			for (E e : this) {
+				clone.add(e);
+			}
+			return clone;
+		} catch (CloneNotSupportedException e) {
+			throw new InternalError();
+		}
+	}
+
+	private boolean internalAdd(int index, E e) {
+		final int hash = hash(e);
+		if (find(e, hash) != null) {
+			return false;
+		}// else
+		final Node<E> node = new Node<E>(e, hash, nextPriority());
+		link(node);
+		attach(node, index);
+		modCount++;
+		if (size() > buckets.length - (buckets.length >>> 2)) {
+			resize(buckets.length << 1);
+		}
+		return true;
+	}
+
+	private void removeNode(Node<E> node) {
+		unlink(node);
+		detach(node);
+		modCount++;
+	}
+
+	private int nextPriority() {
+		// Xorshift
+		int x = seed;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		return seed = x;
+	}
+
+	/*
+	 * HASH TABLE
+	 */
+
+	@SuppressWarnings("unchecked")
+	private int hash(Object o) {
+		final int h = ((Equivalence<Object>) equivalence).hash(o) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean eq(Object o1, Object o2) {
+		return o1 == o2 || ((Equivalence<Object>) equivalence).equivalent(o1, o2);
+	}
+
+	private Node<E> nodeOf(Object o) {
+		return find(o, hash(o));
+	}
+
+	private Node<E> find(Object o, int hash) {
+		for (Node<E> n = buckets[hash & (buckets.length - 1)]; n != null; n = n.nextInBucket) {
+			if (n.hash == hash && eq(n.element, o)) {
+				return n;
+			}
+		}
+		return null;
+	}
+
+	private void link(Node<E> node) {
+		final int bucket = node.hash & (buckets.length - 1);
+		node.nextInBucket = buckets[bucket];
+		buckets[bucket] = node;
+	}
+
+	private void unlink(Node<E> node) {
+		final int bucket = node.hash & (buckets.length - 1);
+		Node<E> n = buckets[bucket];
+		if (n == node) {
+			buckets[bucket] = node.nextInBucket;
+		} else {
+			while (n.nextInBucket != node) {
+				n = n.nextInBucket;
+			}
+			n.nextInBucket = node.nextInBucket;
+		}
+		node.nextInBucket = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void resize(int length) {
+		final Node<E>[] oldBuckets = buckets;
+		buckets = (Node<E>[]) new Node<?>[length];
+		for (Node<E> n : oldBuckets) {
+			while (n != null) {
+				final Node<E> next = n.nextInBucket;
+				link(n);
+				n = next;
+			}
+		}
+	}
+
+	/*
+	 * TREE
+	 */
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <E> Node<E> first(Node<E> node) {
+		Node<E> n = node;
+		if (n != null) {
+			while (n.left != null) {
+				n = n.left;
+			}
+		}
+		return n;
+	}
+
+	private static <E> Node<E> successor(Node<E> node) {
+		if (node.right != null) {
+			return first(node.right);
+		}// else
+		Node<E> n = node;
+		while (n.parent != null && n == n.parent.right) {
+			n = n.parent;
+		}
+		return n.parent;
+	}
+
+	private static <E> Node<E> predecessor(Node<E> node) {
+		if (node.left != null) {
+			Node<E> n = node.left;
+			while (n.right != null) {
+				n = n.right;
+			}
+			return n;
+		}// else
+		Node<E> n = node;
+		while (n.parent != null && n == n.parent.left) {
+			n = n.parent;
+		}
+		return n.parent;
+	}
+
+	private Node<E> select(int index) {
+		Node<E> n = root;
+		int i = index;
+		while (true) {
+			final int leftSize = size(n.left);
+			if (i < leftSize) {
+				n = n.left;
+			} else if (i > leftSize) {
+				i -= leftSize + 1;
+				n = n.right;
+			} else {
+				return n;
+			}
+		}
+	}
+
+	private static int rank(Node<?> node) {
+		int rank = size(node.left);
+		for (Node<?> n = node; n.parent != null; n = n.parent) {
+			if (n == n.parent.right) {
+				rank += size(n.parent.left) + 1;
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * Inserts the given detached node in the tree so that it is at the given index.
+	 */
+	private void attach(Node<E> node, int index) {
+		node.left = node.right = node.parent = null;
+		node.size = 1;
+		if (root == null) {
+			root = node;
+			return;
+		}// else
+		Node<E> n = root;
+		int i = index;
+		while (true) {
+			n.size++;
+			final int leftSize = size(n.left);
+			if (i <= leftSize) {
+				if (n.left == null) {
+					n.left = node;
+					break;
+				}// else
+				n = n.left;
+			} else {
+				i -= leftSize + 1;
+				if (n.right == null) {
+					n.right = node;
+					break;
+				}// else
+				n = n.right;
+			}
+		}
+		node.parent = n;
+		while (node.parent != null && node.priority > node.parent.priority) {
+			rotateUp(node);
+		}
+	}
+
+	/**
+	 * Removes the given node from the tree, leaving it out of the hash table untouched.
+	 */
+	private void detach(Node<E> node) {
+		while (node.left != null && node.right != null) {
+			rotateUp(node.left.priority > node.right.priority ? node.left : node.right);
+		}
+		final Node<E> child = node.left != null ? node.left : node.right;
+		final Node<E> parent = node.parent;
+		if (child != null) {
+			child.parent = parent;
+		}
+		setChild(parent, node, child);
+		for (Node<E> n = parent; n != null; n = n.parent) {
+			n.size--;
+		}
+	}
+
+	/**
+	 * Puts the given detached node at the place of the given one in the tree.
+	 */
+	private void replace(Node<E> node, Node<E> replacement) {
+		replacement.left = node.left;
+		replacement.right = node.right;
+		replacement.parent = node.parent;
+		replacement.priority = node.priority;
+		replacement.size = node.size;
+		if (node.left != null) {
+			node.left.parent = replacement;
+		}
+		if (node.right != null) {
+			node.right.parent = replacement;
+		}
+		setChild(node.parent, node, replacement);
+	}
+
+	private void setChild(Node<E> parent, Node<E> oldChild, Node<E> newChild) {
+		if (parent == null) {
+			root = newChild;
+		} else if (parent.left == oldChild) {
+			parent.left = newChild;
+		} else {
+			parent.right = newChild;
+		}
+	}
+
+	/**
+	 * Rotates the given node with its parent, making it the parent of its parent.
+	 */
+	private void rotateUp(Node<E> node) {
+		final Node<E> parent = node.parent;
+		if (node == parent.left) {
+			parent.left = node.right;
+			if (node.right != null) {
+				node.right.parent = parent;
+			}
+			node.right = parent;
+		} else {
+			parent.right = node.left;
+			if (node.left != null) {
+				node.left.parent = parent;
+			}
+			node.left = parent;
+		}
+		node.parent = parent.parent;
+		setChild(parent.parent, parent, node);
+		parent.parent = node;
+		node.size = parent.size;
+		parent.size = size(parent.left) + size(parent.right) + 1;
+	}
+
+	/*
+	 * SERIALIZATION
+	 */
+
+	private void writeObject(ObjectOutputStream s) throws IOException {
+		s.defaultWriteObject();
+		s.writeInt(size());
+		for (E e : this) {
+			s.writeObject(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		final int size = s.readInt();
+		init(size);
+		for (int i = 0; i < size; i++) {
+			add((E) s.readObject());
+		}
+	}
+
+	private static final class Node<E> {
+		E element;
+		int hash;
+		int priority;
+		int size = 1;
+		Node<E> left;
+		Node<E> right;
+		Node<E> parent;
+		Node<E> nextInBucket;
+
+		Node(E element, int hash, int priority) {
+			this.element = element;
+			this.hash = hash;
+			this.priority = priority;
+		}
+	}
+
+	private class TreeIterator implements ListIterator<E> {
+		private Node<E> next;
+		private int nextIndex;
+		private Node<E> lastReturned;
+		private int expectedModCount = modCount;
+
+		TreeIterator(Node<E> next, int nextIndex) {
+			this.next = next;
+			this.nextIndex = nextIndex;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < size();
+		}
+
+		@Override
+		public E next() {
+			checkForComodification();
+			if (next == null) {
+				throw new NoSuchElementException();
+			}// else
+			lastReturned = next;
+			next = successor(next);
+			nextIndex++;
+			return lastReturned.element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous() {
+			checkForComodification();
+			if (nextIndex == 0) {
+				throw new NoSuchElementException();
+			}// else
+			next = lastReturned = next == null ? last() : predecessor(next);
+			nextIndex--;
+			return lastReturned.element;
+		}
+
+		private Node<E> last() {
+			Node<E> n = root;
+			while (n.right != null) {
+				n = n.right;
+			}
+			return n;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}// else
+			checkForComodification();
+			if (lastReturned == next) {
+				// Removing after previous()
+				next = successor(next);
+			} else {
+				nextIndex--;
+			}
+			removeNode(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(E e) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(E e) {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
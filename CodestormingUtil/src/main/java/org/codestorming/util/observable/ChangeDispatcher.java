@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.observable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the updates of one source on an {@link Executor}, in the order they were
+ * submitted.
+ * <p>
+ * The updates wait in a bounded queue, drained by at most one task of the executor at a
+ * time. Each task merges all the pending updates into one and delivers it, so that a
+ * delivery slower than the submissions receives fewer, larger updates instead of falling
+ * further behind. When the queue is full, the {@link OverflowPolicy} of the dispatcher
+ * decides what happens to a new update.
+ * <p>
+ * The delivery never runs while the dispatcher is locked: it may submit updates itself. As
+ * the queue is only drained once the delivery returns, an update it submits while the
+ * queue is full is merged into the newest pending one, even with the
+ * {@link OverflowPolicy#BLOCK BLOCK} policy. With this policy, the executor must still be
+ * able to run the draining task while other threads wait: a task of a single-thread
+ * executor submitting to a full queue drained by the same executor would wait forever.
+ *
+ * @param <U> The type of update.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public final class ChangeDispatcher<U> {
+
+	/**
+	 * What to do with an update submitted while the queue of the dispatcher is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The submitting thread waits until the queue has room for the update, unless it is
+		 * running the delivery, in which case the update is merged like with {@link #MERGE}.
+		 */
+		BLOCK,
+		/**
+		 * The oldest pending update is discarded to make room for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * The new update is merged into the newest pending one.
+		 */
+		MERGE,
+	}
+
+	/**
+	 * Runs the deliveries in the thread submitting the updates.
+	 */
+	private static final Executor SUBMITTING_THREAD = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	/**
+	 * Configuration of the dispatcher, guarded by the lock.
+	 */
+	private Executor executor;
+
+	private int capacity;
+
+	private OverflowPolicy policy;
+
+	private final BinaryOperator<U> merger;
+
+	private final Consumer<? super U> delivery;
+
+	private final ArrayDeque<U> pending;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notFull = lock.newCondition();
+
+	/**
+	 * Whether a task draining the queue is scheduled or running, guarded by the lock.
+	 */
+	private boolean draining;
+
+	/**
+	 * Thread running the draining task, guarded by the lock.
+	 */
+	private Thread drainer;
+
+	private final Runnable drain = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
+
+	/**
+	 * Creates a {@code ChangeDispatcher}.
+	 *
+	 * @param executor The executor running the deliveries.
+	 * @param capacity The maximum number of pending updates.
+	 * @param policy What to do with an update submitted while the queue is full.
+	 * @param merger Merges two updates, the older first, into one.
+	 * @param delivery Delivers the updates.
+	 * @throws IllegalArgumentException if {@code capacity < 1}.
+	 */
+	public ChangeDispatcher(Executor executor, int capacity, OverflowPolicy policy, BinaryOperator<U> merger,
+			Consumer<? super U> delivery) {
+		if (executor == null || merger == null || delivery == null) {
+			throw new NullPointerException();
+		}// else
+		this.merger = merger;
+		this.delivery = delivery;
+		pending = new ArrayDeque<U>(Math.min(Math.max(capacity, 1), 16));
+		configure(executor, capacity, policy);
+	}
+
+	/**
+	 * Changes the executor, the capacity and the overflow policy of this dispatcher.
+	 * <p>
+	 * The pending updates are kept, and delivered before the ones submitted afterwards. An
+	 * update being delivered by the previous executor is delivered before any other.
+	 *
+	 * @param executor The executor running the deliveries, {@code null} to run them in the
+	 *        thread submitting the updates, once the pending ones are delivered.
+	 * @param capacity The maximum number of pending updates.
+	 * @param policy What to do with an update submitted while the queue is full.
+	 * @throws IllegalArgumentException if {@code capacity < 1}.
+	 */
+	public void configure(Executor executor, int capacity, OverflowPolicy policy) {
+		if (policy == null) {
+			throw new NullPointerException();
+		} else if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity must be at least 1.");
+		}// else
+		lock.lock();
+		try {
+			this.executor = executor != null ? executor : SUBMITTING_THREAD;
+			this.capacity = capacity;
+			this.policy = policy;
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Submits the given update, to be delivered after the ones already submitted.
+	 *
+	 * @param update The update, not {@code null}.
+	 * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the
+	 *         task delivering the update, which stays pending, unless it was waiting for
+	 *         room in the queue with the {@link OverflowPolicy#BLOCK BLOCK} policy.
+	 */
+	public void submit(U update) {
+		final boolean schedule;
+		final Executor currentExecutor;
+		lock.lock();
+		try {
+			if (pending.size() < capacity) {
+				pending.add(update);
+			} else if (policy == OverflowPolicy.DROP_OLDEST) {
+				pending.poll();
+				pending.add(update);
+			} else if (policy == OverflowPolicy.BLOCK && drainer != Thread.currentThread()) {
+				while (pending.size() >= capacity) {
+					if (!draining) {
+						// Only a draining task signals the waiting submitters: scheduling one first,
+						// as the previous one may have been rejected by the executor
+						draining = true;
+						final Executor drainExecutor = executor;
+						lock.unlock();
+						try {
+							execute(drainExecutor);
+						} finally {
+							lock.lock();
+						}
+					} else {
+						notFull.awaitUninterruptibly();
+					}
+				}
+				pending.add(update);
+			} else {
+				// Merging, also when the delivery submits, as it would wait for itself
+				final U merged = merger.apply(pending.peekLast(), update);
+				pending.pollLast();
+				pending.add(merged);
+			}
+			schedule = !draining;
+			draining = true;
+			currentExecutor = executor;
+		} finally {
+			lock.unlock();
+		}
+		if (schedule) {
+			execute(currentExecutor);
+		}
+	}
+
+	/**
+	 * Returns the number of updates waiting to be delivered.
+	 *
+	 * @return the number of pending updates.
+	 */
+	public int getPendingCount() {
+		lock.lock();
+		try {
+			return pending.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void execute(Executor currentExecutor) {
+		try {
+			currentExecutor.execute(drain);
+		} catch (RuntimeException e) {
+			// The updates stay pending until the next submission schedules them again, before
+			// waiting for room in the queue if it is full
+			lock.lock();
+			try {
+				draining = false;
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	private void drain() {
+		boolean again;
+		do {
+			again = false;
+			boolean completed = false;
+			RuntimeException mergeFailure = null;
+			try {
+				U update;
+				lock.lock();
+				try {
+					drainer = Thread.currentThread();
+					update = pending.poll();
+					U next;
+					while ((next = pending.peek()) != null) {
+						try {
+							update = merger.apply(update, next);
+						} catch (RuntimeException e) {
+							// Delivering the updates merged so far, the others staying pending
+							mergeFailure = e;
+							break;
+						}
+						pending.poll();
+					}
+					notFull.signalAll();
+				} finally {
+					lock.unlock();
+				}
+				if (update != null) {
+					delivery.accept(update);
+				}
+				completed = mergeFailure == null;
+			} finally {
+				// Giving back the thread to the executor between two deliveries
+				final boolean reschedule;
+				final Executor currentExecutor;
+				lock.lock();
+				try {
+					drainer = null;
+					reschedule = !pending.isEmpty();
+					draining = reschedule;
+					currentExecutor = executor;
+					// Looping in the submitting thread rather than recursing through the executor
+					again = reschedule && completed && currentExecutor == SUBMITTING_THREAD;
+				} finally {
+					lock.unlock();
+				}
+				if (reschedule && !again) {
+					execute(currentExecutor);
+				}
+			}
+			if (mergeFailure != null) {
+				throw mergeFailure;
+			}
+		} while (again);
+	}
+}
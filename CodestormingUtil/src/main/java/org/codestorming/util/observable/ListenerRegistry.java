@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2012-2016 Codestorming.org
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Codestorming - initial implementation and API
+ */
+package org.codestorming.util.observable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Thread-safe set of listeners, optimized for notifications much more frequent than
+ * registrations.
+ * <p>
+ * The listeners are kept in an immutable array, replaced by a copy on each registration or
+ * unregistration. Notifying the listeners reads the current array without locking nor
+ * copying, the listeners registered or unregistered during a notification being taken into
+ * account by the next one.
+ * <p>
+ * Like in a {@link java.util.Set}, a listener equal to a registered one is not registered
+ * twice.
+ *
+ * @param <L> The type of listener.
+ * @author Thaedrik [thaedrik@codestorming.org]
+ * @since 1.7
+ */
+public final class ListenerRegistry<L> {
+
+	/**
+	 * Notification of a listener with two arguments.
+	 *
+	 * @param <L> The type of listener.
+	 * @param <A> The type of the first argument.
+	 * @param <B> The type of the second argument.
+	 */
+	public interface Notification<L, A, B> {
+
+		/**
+		 * Notifies the given listener.
+		 *
+		 * @param listener The listener.
+		 * @param first The first argument.
+		 * @param second The second argument.
+		 */
+		void send(L listener, A first, B second);
+	}
+
+	private static final Object[] NO_LISTENERS = new Object[0];
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ListenerRegistry, Object[]> LISTENERS = AtomicReferenceFieldUpdater
+			.newUpdater(ListenerRegistry.class, Object[].class, "listeners");
+
+	private volatile Object[] listeners = NO_LISTENERS;
+
+	/**
+	 * Registers the given listener.
+	 *
+	 * @param listener The listener.
+	 * @return {@code true} if the listener was not already registered.
+	 */
+	public boolean add(L listener) {
+		Object[] current;
+		Object[] updated;
+		do {
+			current = listeners;
+			if (indexOf(current, listener) >= 0) {
+				return false;
+			}// else
+			updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = listener;
+		} while (!LISTENERS.compareAndSet(this, current, updated));
+		return true;
+	}
+
+	/**
+	 * Unregisters the given listener.
+	 *
+	 * @param listener The listener.
+	 * @return {@code true} if the listener was registered.
+	 */
+	public boolean remove(L listener) {
+		Object[] current;
+		Object[] updated;
+		do {
+			current = listeners;
+			final int index = indexOf(current, listener);
+			if (index < 0) {
+				return false;
+			} else if (current.length == 1) {
+				updated = NO_LISTENERS;
+			} else {
+				updated = new Object[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, index);
+				System.arraycopy(current, index + 1, updated, index, updated.length - index);
+			}
+		} while (!LISTENERS.compareAndSet(this, current, updated));
+		return true;
+	}
+
+	/**
+	 * Indicates if the given listener is registered.
+	 *
+	 * @param listener The listener.
+	 * @return {@code true} if the listener is registered.
+	 */
+	public boolean contains(L listener) {
+		return indexOf(listeners, listener) >= 0;
+	}
+
+	/**
+	 * Returns the number of registered listeners.
+	 *
+	 * @return the number of registered listeners.
+	 */
+	public int size() {
+		return listeners.length;
+	}
+
+	/**
+	 * Indicates if no listener is registered.
+	 *
+	 * @return {@code true} if no listener is registered.
+	 */
+	public boolean isEmpty() {
+		return listeners.length == 0;
+	}
+
+	/**
+	 * Unregisters all the listeners.
+	 */
+	public void clear() {
+		listeners = NO_LISTENERS;
+	}
+
+	/**
+	 * Notifies the registered listeners with the given notification, in their order of
+	 * registration.
+	 * <p>
+	 * If a listener throws an exception, the following ones are not notified.
+	 *
+	 * @param notification The notification.
+	 * @param first The first argument of the notification.
+	 * @param second The second argument of the notification.
+	 */
+	@SuppressWarnings("unchecked")
+	public <A, B> void fire(Notification<? super L, A, B> notification, A first, B second) {
+		for (Object listener : listeners) {
+			notification.send((L) listener, first, second);
+		}
+	}
+
+	private static int indexOf(Object[] listeners, Object listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == null ? listener == null : listeners[i].equals(listener)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
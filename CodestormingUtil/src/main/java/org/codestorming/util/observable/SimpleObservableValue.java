@@ -11,12 +11,12 @@
  */
 package org.codestorming.util.observable;
 
-import java.util.ArrayList;
+import org.codestorming.util.observable.ChangeDispatcher.OverflowPolicy;
+import org.codestorming.util.observable.ListenerRegistry.Notification;
+
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -24,6 +24,9 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Default implementation of an {@link ObservableValue}.
+ * <p>
+ * The listeners are notified by the thread changing the value, unless a
+ * {@link #setDispatchExecutor(Executor, int, OverflowPolicy) dispatch executor} is set.
  *
  * @author Thaedrik [thaedrik@codestorming.org]
  * @since 1.2
@@ -32,7 +35,16 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 
 	protected T value;
 
-	protected final Set<ChangeListener<T>> changeListeners = new HashSet<ChangeListener<T>>();
+	protected final ListenerRegistry<ChangeListener<T>> changeListeners = new ListenerRegistry<ChangeListener<T>>();
+
+	private final Notification<ChangeListener<T>, T, T> valueChange = new Notification<ChangeListener<T>, T, T>() {
+		@Override
+		public void send(ChangeListener<T> listener, T oldValue, T newValue) {
+			listener.onChange(SimpleObservableValue.this, oldValue, newValue);
+		}
+	};
+
+	private volatile ChangeDispatcher<ValueChange<T>> dispatcher;
 
 	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -66,22 +78,12 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 
 	@Override
 	public void addChangeListener(ChangeListener<T> listener) {
-		writeLock();
-		try {
-			changeListeners.add(listener);
-		} finally {
-			writeUnlock();
-		}
+		changeListeners.add(listener);
 	}
 
 	@Override
 	public void removeChangeListener(ChangeListener<T> listener) {
-		writeLock();
-		try {
-			changeListeners.remove(listener);
-		} finally {
-			writeUnlock();
-		}
+		changeListeners.remove(listener);
 	}
 
 	protected void readLock() {
@@ -100,16 +102,59 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 		lock.writeLock().unlock();
 	}
 
-	protected void fireChange(T oldValue, T newValue) {
-		readLock();
-		List<ChangeListener<T>> changeListeners;
+	/**
+	 * Sets the executor notifying the listeners of this value, instead of the thread changing
+	 * it.
+	 * <p>
+	 * The changes are notified in the order they happened. The changes pending while the
+	 * listeners are notified are merged into a single change, from the oldest old value to
+	 * the newest new value, which is not notified if both are the same.
+	 * <p>
+	 * Changing the executor keeps this order: the pending changes are notified before the
+	 * following ones, by the new executor, or by the thread changing the value if the
+	 * executor is {@code null}.
+	 * <p>
+	 * Bound values rely on synchronous notifications and should not use a dispatch executor.
+	 *
+	 * @param executor The executor notifying the listeners, {@code null} to notify them
+	 *        synchronously.
+	 * @param capacity The maximum number of pending notifications.
+	 * @param policy What to do with a change when {@code capacity} notifications are
+	 *        pending.
+	 * @throws IllegalArgumentException if {@code capacity < 1}.
+	 * @since 1.7
+	 */
+	public void setDispatchExecutor(Executor executor, int capacity, OverflowPolicy policy) {
+		writeLock();
 		try {
-			changeListeners = new ArrayList<ChangeListener<T>>(this.changeListeners);
+			if (dispatcher != null) {
+				// Keeping the pending changes in the same queue
+				dispatcher.configure(executor, capacity, policy);
+			} else if (executor != null) {
+				dispatcher = new ChangeDispatcher<ValueChange<T>>(executor, capacity, policy, this::mergeChanges,
+						this::deliverChange);
+			}
 		} finally {
-			readUnlock();
+			writeUnlock();
 		}
-		for (ChangeListener<T> listener : changeListeners) {
-			listener.onChange(this, oldValue, newValue);
+	}
+
+	protected void fireChange(T oldValue, T newValue) {
+		final ChangeDispatcher<ValueChange<T>> currentDispatcher = dispatcher;
+		if (currentDispatcher != null) {
+			currentDispatcher.submit(new ValueChange<T>(oldValue, newValue));
+		} else {
+			changeListeners.fire(valueChange, oldValue, newValue);
+		}
+	}
+
+	private ValueChange<T> mergeChanges(ValueChange<T> older, ValueChange<T> newer) {
+		return new ValueChange<T>(older.oldValue, newer.newValue);
+	}
+
+	private void deliverChange(ValueChange<T> change) {
+		if (change.oldValue != change.newValue) {
+			changeListeners.fire(valueChange, change.oldValue, change.newValue);
 		}
 	}
 
@@ -130,6 +175,18 @@ public class SimpleObservableValue<T> implements ObservableValue<T> {
 		binder.unbind();
 	}
 
+	private static final class ValueChange<T> {
+
+		final T oldValue;
+
+		final T newValue;
+
+		ValueChange(T oldValue, T newValue) {
+			this.oldValue = oldValue;
+			this.newValue = newValue;
+		}
+	}
+
 	/**
 	 * The Binder class references all binds made between {@code SimpleObservableValue} objects.
 	 *